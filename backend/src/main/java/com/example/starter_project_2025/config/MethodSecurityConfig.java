@@ -0,0 +1,36 @@
+package com.example.starter_project_2025.config;
+
+import com.example.starter_project_2025.security.CompiledPreAuthorizeAuthorizationManager;
+import com.example.starter_project_2025.security.PermissionRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+
+@Configuration
+@EnableMethodSecurity(prePostEnabled = false)
+public class MethodSecurityConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor(
+            ApplicationContext applicationContext,
+            ObjectProvider<PermissionRegistry> permissionRegistry,
+            @Value("${security.method.compiled-pre-authorize:true}") boolean compiled) {
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(applicationContext);
+        PreAuthorizeAuthorizationManager expressionManager = new PreAuthorizeAuthorizationManager();
+        expressionManager.setExpressionHandler(expressionHandler);
+
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(
+                new CompiledPreAuthorizeAuthorizationManager(expressionManager, permissionRegistry::getObject, compiled));
+    }
+}
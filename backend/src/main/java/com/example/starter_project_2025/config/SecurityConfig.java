@@ -1,38 +1,48 @@
 package com.example.starter_project_2025.config;
 
 import com.example.starter_project_2025.security.JwtAuthenticationFilter;
+import com.example.starter_project_2025.security.PermissionRegistry;
+import com.example.starter_project_2025.security.RouteAuthorizationManager;
 import com.example.starter_project_2025.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PermissionRegistry permissionRegistry;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -41,18 +51,15 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(exceptions ->
+                        exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
+                        // Error and async dispatches carry no bearer token; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ERROR, DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html", "/v3/api-docs/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/menus/**", "/api/menu-items/**").authenticated()
-                        .requestMatchers(HttpMethod.POST, "/api/menus/**", "/api/menu-items/**").hasAuthority("MENU_CREATE")
-                        .requestMatchers(HttpMethod.PUT, "/api/menus/**", "/api/menu-items/**").hasAuthority("MENU_UPDATE")
-                        .requestMatchers(HttpMethod.DELETE, "/api/menus/**", "/api/menu-items/**").hasAuthority("MENU_DELETE")
-                        .requestMatchers("/api/users/**").hasAnyAuthority("USER_READ", "USER_CREATE", "USER_UPDATE", "USER_DELETE")
-                        .requestMatchers("/api/roles/**").hasAnyAuthority("ROLE_READ", "ROLE_CREATE", "ROLE_UPDATE", "ROLE_DELETE")
-                        .requestMatchers("/api/permissions/**").hasAnyAuthority("ROLE_READ", "ROLE_CREATE")
-                        .anyRequest().authenticated()
+                        .anyRequest().access(routeAuthorizationManager())
                 )
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
@@ -61,11 +68,60 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private RouteAuthorizationManager routeAuthorizationManager() {
+        return RouteAuthorizationManager.builder(permissionRegistry)
+                .route(HttpMethod.GET, "/api/menus/active")
+                .route(HttpMethod.GET, "/api/menus/**", "MENU_READ")
+                .route(HttpMethod.POST, "/api/menus/{id}/toggle-status", "MENU_UPDATE")
+                .route(HttpMethod.POST, "/api/menus", "MENU_CREATE")
+                .route(HttpMethod.PUT, "/api/menus/{id}", "MENU_UPDATE")
+                .route(HttpMethod.DELETE, "/api/menus/{id}", "MENU_DELETE")
+                .route(null, "/api/menus/**", "MENU_CREATE", "MENU_UPDATE", "MENU_DELETE")
+
+                .route(HttpMethod.GET, "/api/menu-items/**", "MENU_ITEM_READ")
+                .route(HttpMethod.POST, "/api/menu-items/{id}/toggle-status", "MENU_ITEM_UPDATE")
+                .route(HttpMethod.POST, "/api/menu-items", "MENU_ITEM_CREATE")
+                .route(HttpMethod.PUT, "/api/menu-items/{id}", "MENU_ITEM_UPDATE")
+                .route(HttpMethod.DELETE, "/api/menu-items/{id}", "MENU_ITEM_DELETE")
+                .route(null, "/api/menu-items/**", "MENU_ITEM_CREATE", "MENU_ITEM_UPDATE", "MENU_ITEM_DELETE")
+
+                .route(HttpMethod.GET, "/api/users/import/{jobId}", "USER_CREATE")
+                .route(HttpMethod.GET, "/api/users/**", "USER_READ")
+                .route(HttpMethod.POST, "/api/users/{id}/toggle-status", "USER_ACTIVATE")
+                .route(HttpMethod.POST, "/api/users/{id}/assign-role", "ROLE_ASSIGN")
+                .route(HttpMethod.POST, "/api/users", "USER_CREATE")
+                .route(HttpMethod.POST, "/api/users/bulk", "USER_CREATE")
+                .route(HttpMethod.POST, "/api/users/import", "USER_CREATE")
+                .route(HttpMethod.PUT, "/api/users/{id}", "USER_UPDATE")
+                .route(HttpMethod.DELETE, "/api/users/{id}", "USER_DELETE")
+                .route(null, "/api/users/**", "USER_READ", "USER_CREATE", "USER_UPDATE", "USER_DELETE")
+
+                .route(HttpMethod.GET, "/api/roles/**", "ROLE_READ")
+                .route(HttpMethod.POST, "/api/roles/{id}/toggle-status", "ROLE_UPDATE")
+                .route(HttpMethod.POST, "/api/roles/{id}/permissions/*", "ROLE_UPDATE")
+                .route(HttpMethod.POST, "/api/roles/{id}/parents/{parentId}", "ROLE_UPDATE")
+                .route(HttpMethod.DELETE, "/api/roles/{id}/parents/{parentId}", "ROLE_UPDATE")
+                .route(HttpMethod.POST, "/api/roles", "ROLE_CREATE")
+                .route(HttpMethod.PUT, "/api/roles/{id}", "ROLE_UPDATE")
+                .route(HttpMethod.DELETE, "/api/roles/{id}", "ROLE_DELETE")
+                .route(null, "/api/roles/**", "ROLE_READ", "ROLE_CREATE", "ROLE_UPDATE", "ROLE_DELETE")
+
+                .route(HttpMethod.GET, "/api/permissions/**", "ROLE_READ")
+                .route(HttpMethod.POST, "/api/permissions", "ROLE_CREATE")
+                .route(HttpMethod.PUT, "/api/permissions/{id}", "ROLE_UPDATE")
+                .route(HttpMethod.DELETE, "/api/permissions/{id}", "ROLE_DELETE")
+                .route(null, "/api/permissions/**", "ROLE_READ", "ROLE_CREATE")
+
+                .route(null, "/api/monitoring/**", "SYSTEM_MONITOR")
+                .build();
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -76,7 +132,12 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Hashes are stored as {id}hash; a stored hash whose algorithm or cost differs from this
+        // policy is re-encoded after the next successful login. Unprefixed legacy hashes are BCrypt.
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -0,0 +1,7 @@
+package com.example.starter_project_2025.exception;
+
+public class UnauthorizedException extends RuntimeException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.system.user.dto.UserRoleRow;
+import com.example.starter_project_2025.system.user.entity.User;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Every user's role and status, held in primitive arrays so that the whole
+ * user → role → permission mapping fits in a few dozen bytes per user. User ids
+ * are interned into slots of parallel {@code long}/{@code int} arrays behind an
+ * open-addressing index; roles are interned into slots whose effective
+ * permission bitsets are taken from {@link RoleHierarchyGraph}.
+ * <p>
+ * Built at startup and updated after commit by the user services; role and
+ * permission edits arrive through the graph. Reads take no lock and may miss a
+ * write that is still being applied.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorizationReadModel {
+
+    private static final int REMOVED = -1;
+
+    private final UserRepository userRepository;
+    private final RoleHierarchyGraph roleHierarchyGraph;
+    private final PermissionRegistry permissionRegistry;
+
+    private final Map<UUID, Integer> roleSlots = new HashMap<>();
+    private final List<UUID> roleIds = new ArrayList<>();
+    private volatile Roles roles = new Roles(-1, new PermissionSet[0], new String[0]);
+    private volatile Users users = new Users(16);
+    private volatile boolean ready;
+    private volatile PermissionSet empty;
+    private int liveUsers;
+
+    public record Holders(List<String> roles, long userCount, List<UUID> userIds) {
+    }
+
+    private record Roles(long version, PermissionSet[] permissions, String[] names) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long count = userRepository.count();
+        synchronized (this) {
+            users = new Users((int) Math.min(count + count / 4 + 16, Integer.MAX_VALUE / 4));
+            liveUsers = 0;
+            try (Stream<UserRoleRow> rows = userRepository.streamRoleAssignments()) {
+                rows.forEach(row -> put(row.id(), row.roleId(), Boolean.TRUE.equals(row.isActive())));
+            }
+            ready = true;
+        }
+        log.info("Built authorization read model for {} users in {} ms ({} bytes per user)",
+                liveUsers, (System.nanoTime() - start) / 1_000_000, bytesPerUser());
+    }
+
+    public void userSaved(User user) {
+        userSaved(user.getId(), user.getRole().getId(), Boolean.TRUE.equals(user.getIsActive()));
+    }
+
+    public void userSaved(UUID userId, UUID roleId, boolean active) {
+        afterCommit(() -> put(userId, roleId, active));
+    }
+
+    public void userRemoved(UUID userId) {
+        afterCommit(() -> remove(userId));
+    }
+
+    /**
+     * Effective permissions of an active user, or an empty set for an unknown or
+     * inactive one.
+     */
+    public PermissionSet permissionsOf(UUID userId) {
+        Users current = users;
+        int slot = current.find(userId);
+        if (slot < 0 || !current.isActive(slot)) {
+            return emptySet();
+        }
+        return rolePermissions(current.roles[slot]);
+    }
+
+    public boolean hasPermission(UUID userId, String permission) {
+        return permissionsOf(userId).contains(permission);
+    }
+
+    /**
+     * Principal for {@code userId} with its current role and permissions, or
+     * {@code null} when the model is not built yet or does not know the user. The
+     * model holds no emails, so {@code email} is used as given and callers must
+     * pass one known to be current.
+     */
+    public UserDetailsImpl principal(UUID userId, String email) {
+        if (!ready) {
+            return null;
+        }
+        Users current = users;
+        int slot = current.find(userId);
+        int role = slot < 0 ? REMOVED : current.roles[slot];
+        if (role == REMOVED) {
+            return null;
+        }
+        Roles table = roles(role);
+        return new UserDetailsImpl(userId, email, null, null, null, table.names()[role],
+                table.permissions()[role], current.isActive(slot));
+    }
+
+    /**
+     * Roles granting {@code permission}, directly or inherited, and the active
+     * users holding one of them: their count and the first {@code limit} ids.
+     * <p>
+     * The count needs every user slot, so each call scans the whole table however
+     * small {@code limit} is. It takes no lock, but its cost grows with the user
+     * count; callers are expected to be admin screens, not per-request checks.
+     */
+    public Holders whoCan(String permission, int limit) {
+        Roles table = roles(-1);
+        boolean[] granted = new boolean[table.permissions().length];
+        List<String> roleNames = new ArrayList<>();
+        for (int role = 0; role < granted.length; role++) {
+            granted[role] = table.permissions()[role].contains(permission);
+            if (granted[role] && table.names()[role] != null) {
+                roleNames.add(table.names()[role]);
+            }
+        }
+        Collections.sort(roleNames);
+
+        Users current = users;
+        int size = current.size;
+        long count = 0;
+        List<UUID> ids = new ArrayList<>(Math.min(limit, 1024));
+        for (int slot = 0; slot < size; slot++) {
+            int role = current.roles[slot];
+            if (role >= 0 && role < granted.length && granted[role] && current.isActive(slot)) {
+                if (ids.size() < limit) {
+                    ids.add(new UUID(current.mostBits[slot], current.leastBits[slot]));
+                }
+                count++;
+            }
+        }
+        return new Holders(roleNames, count, ids);
+    }
+
+    public synchronized int size() {
+        return liveUsers;
+    }
+
+    public long memoryBytes() {
+        return users.memoryBytes();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("users", size());
+        stats.put("roles", roles(-1).names().length);
+        stats.put("memoryBytes", memoryBytes());
+        stats.put("bytesPerUser", bytesPerUser());
+        return stats;
+    }
+
+    private long bytesPerUser() {
+        int count = size();
+        return count == 0 ? 0 : memoryBytes() / count;
+    }
+
+    private synchronized void put(UUID userId, UUID roleId, boolean active) {
+        int role = roleSlot(roleId);
+        Users current = users;
+        int slot = current.find(userId);
+        if (slot < 0 || current.roles[slot] == REMOVED) {
+            liveUsers++;
+        }
+        if (slot >= 0) {
+            current.roles[slot] = role;
+            current.setActive(slot, active);
+            return;
+        }
+        if (current.size == current.capacity()) {
+            current = current.grow();
+            users = current;
+        }
+        current.append(userId.getMostSignificantBits(), userId.getLeastSignificantBits(), role, active);
+    }
+
+    private synchronized void remove(UUID userId) {
+        Users current = users;
+        int slot = current.find(userId);
+        if (slot >= 0 && current.roles[slot] != REMOVED) {
+            current.roles[slot] = REMOVED;
+            current.setActive(slot, false);
+            liveUsers--;
+        }
+    }
+
+    private int roleSlot(UUID roleId) {
+        Integer slot = roleSlots.get(roleId);
+        if (slot == null) {
+            slot = roleIds.size();
+            roleSlots.put(roleId, slot);
+            roleIds.add(roleId);
+        }
+        return slot;
+    }
+
+    private PermissionSet rolePermissions(int role) {
+        return role < 0 ? emptySet() : roles(role).permissions()[role];
+    }
+
+    /**
+     * Current role table, refreshed from the graph when its permissions have
+     * changed or it does not cover role slot {@code needed} yet.
+     */
+    private Roles roles(int needed) {
+        Roles current = roles;
+        long version = roleHierarchyGraph.version();
+        if (current.version() != version || needed >= current.permissions().length) {
+            current = refreshRoles(version);
+        }
+        return current;
+    }
+
+    private synchronized Roles refreshRoles(long version) {
+        roleHierarchyGraph.roleIds().forEach(this::roleSlot);
+        PermissionSet[] permissions = new PermissionSet[roleIds.size()];
+        String[] names = new String[roleIds.size()];
+        PermissionSet empty = emptySet();
+        for (int slot = 0; slot < permissions.length; slot++) {
+            PermissionSet effective = roleHierarchyGraph.effectivePermissions(roleIds.get(slot));
+            permissions[slot] = effective != null ? effective : empty;
+            names[slot] = roleHierarchyGraph.roleName(roleIds.get(slot));
+        }
+        Roles refreshed = new Roles(version, permissions, names);
+        roles = refreshed;
+        return refreshed;
+    }
+
+    private PermissionSet emptySet() {
+        PermissionSet set = empty;
+        if (set == null) {
+            set = permissionRegistry.toPermissionSet(List.of());
+            empty = set;
+        }
+        return set;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Fixed-capacity user table: slot {@code i} holds one user id as two longs,
+     * its role slot and an active bit. {@code index} maps an id hash to
+     * {@code slot + 1} by linear probing, {@code 0} meaning empty. Removed users
+     * keep their slot until the table grows, which copies live users only.
+     */
+    private static final class Users {
+        private final long[] mostBits;
+        private final long[] leastBits;
+        private final int[] roles;
+        private final long[] active;
+        private final int[] index;
+        private volatile int size;
+
+        Users(int capacity) {
+            mostBits = new long[capacity];
+            leastBits = new long[capacity];
+            roles = new int[capacity];
+            active = new long[(capacity + 63) >>> 6];
+            index = new int[Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) << 1];
+        }
+
+        int capacity() {
+            return roles.length;
+        }
+
+        int find(UUID id) {
+            long most = id.getMostSignificantBits();
+            long least = id.getLeastSignificantBits();
+            int published = size;
+            int mask = index.length - 1;
+            for (int p = hash(most, least) & mask; ; p = (p + 1) & mask) {
+                int entry = index[p];
+                if (entry == 0) {
+                    return -1;
+                }
+                int slot = entry - 1;
+                if (slot < published && mostBits[slot] == most && leastBits[slot] == least) {
+                    return slot;
+                }
+            }
+        }
+
+        /**
+         * Fills the next slot, then publishes it by advancing {@code size}.
+         */
+        void append(long most, long least, int role, boolean isActive) {
+            int slot = size;
+            mostBits[slot] = most;
+            leastBits[slot] = least;
+            roles[slot] = role;
+            setActive(slot, isActive);
+            int mask = index.length - 1;
+            int p = hash(most, least) & mask;
+            while (index[p] != 0) {
+                p = (p + 1) & mask;
+            }
+            index[p] = slot + 1;
+            size = slot + 1;
+        }
+
+        boolean isActive(int slot) {
+            return (active[slot >>> 6] & (1L << slot)) != 0;
+        }
+
+        void setActive(int slot, boolean value) {
+            if (value) {
+                active[slot >>> 6] |= 1L << slot;
+            } else {
+                active[slot >>> 6] &= ~(1L << slot);
+            }
+        }
+
+        Users grow() {
+            int live = 0;
+            for (int slot = 0; slot < size; slot++) {
+                if (roles[slot] != REMOVED) {
+                    live++;
+                }
+            }
+            Users next = new Users(Math.max(16, live * 2));
+            for (int slot = 0; slot < size; slot++) {
+                if (roles[slot] != REMOVED) {
+                    next.append(mostBits[slot], leastBits[slot], roles[slot], isActive(slot));
+                }
+            }
+            return next;
+        }
+
+        long memoryBytes() {
+            return 16L * mostBits.length + 4L * roles.length + 8L * active.length + 4L * index.length + 5 * 16;
+        }
+
+        private static int hash(long most, long least) {
+            long h = most * 0x9E3779B97F4A7C15L ^ least;
+            h ^= h >>> 31;
+            h *= 0xBF58476D1CE4E5B9L;
+            return (int) (h ^ h >>> 32);
+        }
+    }
+}
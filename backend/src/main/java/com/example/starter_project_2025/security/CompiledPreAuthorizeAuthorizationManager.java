@@ -0,0 +1,100 @@
+package com.example.starter_project_2025.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates {@code @PreAuthorize} without SpEL for the plain
+ * {@code hasAuthority('X')} and {@code hasAnyAuthority('X', 'Y')} forms.
+ * Each method's expression is inspected once and the resulting check is
+ * cached; anything more complex is delegated to the standard SpEL manager.
+ */
+public final class CompiledPreAuthorizeAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final Pattern HAS_AUTHORITY =
+            Pattern.compile("^\\s*hasAuthority\\(\\s*'([^']+)'\\s*\\)\\s*$");
+    private static final Pattern HAS_ANY_AUTHORITY =
+            Pattern.compile("^\\s*hasAnyAuthority\\(\\s*('[^']+'(?:\\s*,\\s*'[^']+')*)\\s*\\)\\s*$");
+    private static final Pattern QUOTED = Pattern.compile("'([^']+)'");
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private final PreAuthorizeAuthorizationManager expressionManager;
+    private final Supplier<PermissionRegistry> registry;
+    private final boolean compileEnabled;
+    private final Map<MethodClassKey, AuthorizationManager<MethodInvocation>> managers = new ConcurrentHashMap<>();
+
+    public CompiledPreAuthorizeAuthorizationManager(PreAuthorizeAuthorizationManager expressionManager,
+                                                    Supplier<PermissionRegistry> registry,
+                                                    boolean compileEnabled) {
+        this.expressionManager = expressionManager;
+        this.registry = registry;
+        this.compileEnabled = compileEnabled;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        if (!compileEnabled) {
+            return expressionManager.check(authentication, invocation);
+        }
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        MethodClassKey key = new MethodClassKey(invocation.getMethod(), targetClass);
+        return managers.computeIfAbsent(key, k -> compile(invocation.getMethod(), targetClass))
+                .check(authentication, invocation);
+    }
+
+    private AuthorizationManager<MethodInvocation> compile(Method method, Class<?> targetClass) {
+        String[] permissions = parse(findExpression(method, targetClass));
+        if (permissions == null) {
+            return expressionManager;
+        }
+        PermissionAuthorizationManager<MethodInvocation> permission =
+                PermissionAuthorizationManager.hasAnyPermission(registry.get(), permissions);
+        return (authentication, invocation) -> RouteAuthorizationManager.isConfirmed(permission.ordinals())
+                ? GRANTED
+                : permission.check(authentication, invocation);
+    }
+
+    private String findExpression(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(specificMethod, PreAuthorize.class);
+        if (preAuthorize == null) {
+            preAuthorize = AnnotatedElementUtils.findMergedAnnotation(targetClass, PreAuthorize.class);
+        }
+        return preAuthorize != null ? preAuthorize.value() : null;
+    }
+
+    static String[] parse(String expression) {
+        if (expression == null) {
+            return null;
+        }
+        Matcher single = HAS_AUTHORITY.matcher(expression);
+        if (single.matches()) {
+            return new String[]{single.group(1)};
+        }
+        Matcher any = HAS_ANY_AUTHORITY.matcher(expression);
+        if (any.matches()) {
+            // Split on the quotes, not on commas, which may appear inside a name
+            return QUOTED.matcher(any.group(1)).results()
+                    .map(result -> result.group(1))
+                    .toArray(String[]::new);
+        }
+        return null;
+    }
+}
@@ -5,9 +5,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -21,6 +23,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final PermissionRegistry permissionRegistry;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final AuthorizationReadModel authorizationReadModel;
+
+    @Value("${jwt.claims-only:false}")
+    private boolean claimsOnly;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -28,15 +37,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String email = jwtUtil.getEmailFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            JwtClaims claims = StringUtils.hasText(jwt) ? jwtUtil.verifyToken(jwt) : null;
+            if (claims != null && !tokenRevocationStore.isRevoked(claims.tokenId())) {
+                UserDetails userDetails = resolveUserDetails(claims);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                if (userDetails.isEnabled()) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -45,6 +56,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolveUserDetails(JwtClaims claims) {
+        if (claimsOnly && claims.userId() != null) {
+            if (securityVersionRegistry.isCurrent(claims.userId(), claims.role(), claims.issuedAt())) {
+                if (claims.permissions() != null) {
+                    return UserDetailsImpl.fromClaims(claims.userId(), claims.email(), claims.role(),
+                            claims.permissions(), permissionRegistry);
+                }
+                PermissionSet permissions = permissionRegistry.decode(claims.permissionBits(), claims.catalogVersion());
+                if (permissions != null) {
+                    return UserDetailsImpl.fromClaims(claims.userId(), claims.email(), claims.role(), permissions);
+                }
+                // A bitmap from an older catalog: the claims, email included, are current, only the bits are not
+                UserDetailsImpl current = authorizationReadModel.principal(claims.userId(), claims.email());
+                if (current != null) {
+                    return current;
+                }
+            }
+        }
+        // The email may have changed since the token was issued, and may even belong to someone else now
+        UserDetailsImpl loaded = userDetailsService.loadPrincipal(claims.email());
+        if (claims.userId() != null && !claims.userId().equals(loaded.getId())) {
+            throw new UsernameNotFoundException("Token email no longer belongs to its user");
+        }
+        return loaded;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,37 @@
+package com.example.starter_project_2025.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+public record JwtClaims(
+        String tokenId,
+        String email,
+        UUID userId,
+        String role,
+        List<String> permissions,
+        String permissionBits,
+        String catalogVersion,
+        Date issuedAt,
+        Date expiration
+) {
+
+    static JwtClaims from(Claims claims) {
+        String userId = claims.get("userId", String.class);
+        Collection<?> permissions = claims.get("permissions", Collection.class);
+        return new JwtClaims(
+                claims.getId(),
+                claims.getSubject(),
+                userId != null ? UUID.fromString(userId) : null,
+                claims.get("role", String.class),
+                permissions != null ? permissions.stream().map(String::valueOf).toList() : null,
+                claims.get(JwtUtil.PERMISSION_BITS_CLAIM, String.class),
+                claims.get(JwtUtil.CATALOG_VERSION_CLAIM, String.class),
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
+    }
+}
@@ -1,65 +1,134 @@
 package com.example.starter_project_2025.security;
 
+import com.example.starter_project_2025.util.ExpiringCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    static final String PERMISSION_BITS_CLAIM = "pb";
+    static final String CATALOG_VERSION_CLAIM = "pv";
+
+    private final PermissionRegistry permissionRegistry;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.compact-permissions:false}")
+    private boolean compactPermissions;
+
+    @Value("${jwt.verification-cache.max-size:10000}")
+    private int verificationCacheSize;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private ExpiringCache<String, JwtClaims> verifiedTokens;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new ExpiringCache<>(verificationCacheSize);
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return generateToken((UserDetailsImpl) authentication.getPrincipal());
+    }
+
+    public String generateToken(UserDetailsImpl userDetails) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getEmail())
                 .claim("userId", userDetails.getId().toString())
-                .claim("role", userDetails.getRole())
-                .claim("permissions", userDetails.getAuthorities().stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .collect(Collectors.toList()))
+                .claim("role", userDetails.getRole());
+        if (compactPermissions) {
+            builder.claim(PERMISSION_BITS_CLAIM, userDetails.getPermissions().toBase64Url())
+                    .claim(CATALOG_VERSION_CLAIM, permissionRegistry.catalogVersion());
+        } else {
+            builder.claim("permissions", userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toList()));
+        }
+        return builder
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of a token and returns its claims, or
+     * {@code null} when the token is invalid. Recently verified tokens are
+     * served from a cache keyed by the token's SHA-256 digest until they expire.
+     */
+    public JwtClaims verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String digest = digest(token);
+        JwtClaims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            JwtClaims claims = JwtClaims.from(jwtParser.parseClaimsJws(token).getBody());
+            if (claims.expiration() != null) {
+                verifiedTokens.put(digest, claims, claims.expiration().getTime());
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        JwtClaims claims = verifyToken(token);
+        return claims != null ? claims.email() : null;
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verifyToken(token) != null;
+    }
+
+    public ExpiringCache<String, JwtClaims> getVerificationCache() {
+        return verifiedTokens;
+    }
+
+    private String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
     }
 }
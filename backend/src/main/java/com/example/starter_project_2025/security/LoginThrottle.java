@@ -0,0 +1,83 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.exception.TooManyRequestsException;
+import com.example.starter_project_2025.util.RateLimiter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client-IP and per-account limits on login attempts, checked before any
+ * password hashing so that credential stuffing cannot saturate the login lane.
+ * <p>
+ * The client IP is {@code request.getRemoteAddr()}. Behind a reverse proxy that is
+ * the proxy's address, so every client would share one bucket; set
+ * {@code server.forward-headers-strategy} there so the forwarded client address is
+ * used instead. Do not enable it without a proxy that overwrites the header, or
+ * clients can pick their own IP bucket.
+ */
+@Component
+public class LoginThrottle {
+
+    @Value("${auth.throttle.ip.burst:50}")
+    private int ipBurst;
+
+    @Value("${auth.throttle.ip.per-minute:60}")
+    private int ipPerMinute;
+
+    @Value("${auth.throttle.email.burst:10}")
+    private int emailBurst;
+
+    @Value("${auth.throttle.email.per-minute:10}")
+    private int emailPerMinute;
+
+    @Value("${auth.throttle.max-keys:100000}")
+    private int maxKeys;
+
+    private RateLimiter ipLimiter;
+    private RateLimiter emailLimiter;
+
+    @PostConstruct
+    void init() {
+        ipLimiter = new RateLimiter(ipBurst, ipPerMinute, maxKeys);
+        emailLimiter = new RateLimiter(emailBurst, emailPerMinute, maxKeys);
+    }
+
+    public void checkLoginAttempt(String email, String clientIp) {
+        if (clientIp != null) {
+            reject(ipLimiter.tryAcquire(clientIp));
+        }
+        if (email != null) {
+            reject(emailLimiter.tryAcquire(email.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    private void reject(long waitNanos) {
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new TooManyRequestsException("Too many login attempts, please try again later", retryAfter);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ip", stats(ipLimiter));
+        stats.put("email", stats(emailLimiter));
+        return stats;
+    }
+
+    private static Map<String, Object> stats(RateLimiter limiter) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedKeys", limiter.size());
+        stats.put("allowed", limiter.allowed());
+        stats.put("rejected", limiter.rejected());
+        stats.put("evictions", limiter.evictions());
+        stats.put("overflowed", limiter.overflowed());
+        return stats;
+    }
+}
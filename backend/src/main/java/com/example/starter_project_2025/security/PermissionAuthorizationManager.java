@@ -0,0 +1,70 @@
+package com.example.starter_project_2025.security;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * {@code hasAnyAuthority} equivalent that tests bits in the principal's
+ * {@link PermissionSet} instead of comparing authority strings. Ordinals are
+ * resolved on first use, after the registry has loaded the catalog.
+ */
+public final class PermissionAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private final PermissionRegistry registry;
+    private final String[] permissionNames;
+    private volatile int[] ordinals;
+
+    private PermissionAuthorizationManager(PermissionRegistry registry, String... permissionNames) {
+        this.registry = registry;
+        this.permissionNames = permissionNames;
+    }
+
+    public static <T> PermissionAuthorizationManager<T> hasAnyPermission(PermissionRegistry registry, String... permissionNames) {
+        return new PermissionAuthorizationManager<>(registry, permissionNames);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        return new AuthorizationDecision(isGranted(authentication.get()));
+    }
+
+    public boolean isGranted(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        if (authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            return userDetails.getPermissions().containsAny(resolveOrdinals());
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            for (String name : permissionNames) {
+                if (name.equals(authority.getAuthority())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int[] ordinals() {
+        return resolveOrdinals();
+    }
+
+    private int[] resolveOrdinals() {
+        int[] resolved = ordinals;
+        if (resolved == null) {
+            resolved = Arrays.stream(permissionNames).mapToInt(registry::ordinalOf).toArray();
+            ordinals = resolved;
+        }
+        return resolved;
+    }
+
+    @Override
+    public String toString() {
+        return "hasAnyPermission" + Arrays.toString(permissionNames);
+    }
+}
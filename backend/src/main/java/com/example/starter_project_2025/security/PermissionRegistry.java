@@ -0,0 +1,175 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.system.auth.entity.Permission;
+import com.example.starter_project_2025.system.auth.repository.PermissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every permission name a dense integer ordinal so that a principal's
+ * authorities can be held as a {@link PermissionSet} bitset. Ordinals are never
+ * reused; a renamed or deleted permission simply leaves an unused slot behind.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionRegistry {
+
+    private final PermissionRepository permissionRepository;
+
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile GrantedAuthority[] authorities = new GrantedAuthority[0];
+    // prefixDigests[n] identifies the first n names in ordinal order
+    private volatile String[] prefixDigests = {digest("", null)};
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalog() {
+        permissionRepository.findAll().stream()
+                .map(Permission::getName)
+                .sorted()
+                .forEach(this::ordinalOf);
+        log.info("Registered {} permission ordinals", size());
+    }
+
+    public int ordinalOf(String name) {
+        Integer ordinal = ordinals.get(name);
+        return ordinal != null ? ordinal : register(name);
+    }
+
+    public int findOrdinal(String name) {
+        Integer ordinal = ordinals.get(name);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public GrantedAuthority authorityOf(int ordinal) {
+        return authorities[ordinal];
+    }
+
+    public int size() {
+        return authorities.length;
+    }
+
+    public PermissionSet toPermissionSet(Collection<String> names) {
+        long[] words = new long[(size() + 63) >>> 6];
+        for (String name : names) {
+            int ordinal = ordinalOf(name);
+            if ((ordinal >>> 6) >= words.length) {
+                words = Arrays.copyOf(words, (ordinal >>> 6) + 1);
+            }
+            words[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return new PermissionSet(words, this);
+    }
+
+    /**
+     * Identifies the current name-to-ordinal assignment as {@code <count>.<digest>},
+     * where the digest covers the first {@code count} names. Ordinals never move, so
+     * registering another name keeps every earlier version decodable; only a
+     * different assignment, such as another instance or a restart that registered
+     * names in another order, invalidates it.
+     */
+    public String catalogVersion() {
+        String[] digests = prefixDigests;
+        return (digests.length - 1) + "." + digests[digests.length - 1];
+    }
+
+    /**
+     * Decodes a bitmap produced by {@link PermissionSet#toBase64Url()}. Returns
+     * {@code null} when it was encoded under an assignment that is not a prefix of
+     * the current one, or is malformed.
+     */
+    public PermissionSet decode(String encoded, String version) {
+        int count = encoded != null ? prefixLength(version) : -1;
+        if (count < 0) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        long[] words = new long[(bytes.length + 7) >>> 3];
+        for (int i = 0; i < bytes.length; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+        }
+        int last = words.length - 1;
+        while (last >= 0 && words[last] == 0) {
+            last--;
+        }
+        if (last >= 0 && (last << 6) + 63 - Long.numberOfLeadingZeros(words[last]) >= count) {
+            return null;
+        }
+        return new PermissionSet(words, this);
+    }
+
+    public PermissionSet fromPermissions(Collection<Permission> permissions) {
+        return toPermissionSet(permissions.stream().map(Permission::getName).toList());
+    }
+
+    private synchronized int register(String name) {
+        Integer existing = ordinals.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal = authorities.length;
+        GrantedAuthority[] grown = Arrays.copyOf(authorities, ordinal + 1);
+        grown[ordinal] = new SimpleGrantedAuthority(name);
+        String[] digests = Arrays.copyOf(prefixDigests, ordinal + 2);
+        digests[ordinal + 1] = digest(digests[ordinal], name);
+        prefixDigests = digests;
+        authorities = grown;
+        ordinals.put(name, ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Number of names the version covers, or -1 when it does not describe a
+     * prefix of the current assignment.
+     */
+    private int prefixLength(String version) {
+        int dot = version != null ? version.indexOf('.') : -1;
+        if (dot <= 0) {
+            return -1;
+        }
+        int count;
+        try {
+            count = Integer.parseInt(version, 0, dot, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        String[] digests = prefixDigests;
+        if (count < 0 || count >= digests.length || !digests[count].equals(version.substring(dot + 1))) {
+            return -1;
+        }
+        return count;
+    }
+
+    private static String digest(String previous, String name) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(previous.getBytes(StandardCharsets.UTF_8));
+            if (name != null) {
+                digest.update((byte) '\n');
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 6));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
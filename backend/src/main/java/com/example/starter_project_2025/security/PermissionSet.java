@@ -0,0 +1,188 @@
+package com.example.starter_project_2025.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable set of permission ordinals backed by a {@code long[]} bitset.
+ */
+public final class PermissionSet {
+
+    private final long[] words;
+    private final PermissionRegistry registry;
+    private final int size;
+    private Collection<GrantedAuthority> authorities;
+
+    PermissionSet(long[] words, PermissionRegistry registry) {
+        this.words = words;
+        this.registry = registry;
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        this.size = count;
+    }
+
+    public boolean contains(int ordinal) {
+        int index = ordinal >>> 6;
+        return ordinal >= 0 && index < words.length && (words[index] & (1L << ordinal)) != 0;
+    }
+
+    public boolean contains(String permissionName) {
+        return contains(registry.findOrdinal(permissionName));
+    }
+
+    public boolean containsAny(int[] ordinals) {
+        for (int ordinal : ordinals) {
+            if (contains(ordinal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the next ordinal in this set at or after {@code from}, or -1.
+     */
+    public int nextOrdinal(int from) {
+        int index = from >>> 6;
+        if (from < 0 || index >= words.length) {
+            return -1;
+        }
+        long word = words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    public Set<String> names() {
+        Set<String> names = new LinkedHashSet<>();
+        for (int o = nextOrdinal(0); o >= 0; o = nextOrdinal(o + 1)) {
+            names.add(registry.authorityOf(o).getAuthority());
+        }
+        return names;
+    }
+
+    /**
+     * Read-only view of this set as granted authorities. The authority
+     * instances are shared through the registry, so nothing is copied per call.
+     */
+    public Collection<GrantedAuthority> asAuthorities() {
+        Collection<GrantedAuthority> view = authorities;
+        if (view == null) {
+            view = new AuthorityView();
+            authorities = view;
+        }
+        return view;
+    }
+
+    /**
+     * Packs the set into little-endian bytes with trailing zero bytes dropped and
+     * returns them as unpadded base64url; the inverse of {@link PermissionRegistry#decode}.
+     */
+    public String toBase64Url() {
+        byte[] bytes = new byte[words.length << 3];
+        int length = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) << 3));
+            if (bytes[i] != 0) {
+                length = i + 1;
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(bytes, length));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PermissionSet other)) {
+            return false;
+        }
+        int common = Math.min(words.length, other.words.length);
+        for (int i = 0; i < common; i++) {
+            if (words[i] != other.words[i]) {
+                return false;
+            }
+        }
+        long[] longer = words.length > other.words.length ? words : other.words;
+        for (int i = common; i < longer.length; i++) {
+            if (longer[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, length));
+    }
+
+    @Override
+    public String toString() {
+        return names().toString();
+    }
+
+    private final class AuthorityView extends AbstractCollection<GrantedAuthority> {
+
+        @Override
+        public Iterator<GrantedAuthority> iterator() {
+            return new Iterator<>() {
+                private int next = nextOrdinal(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public GrantedAuthority next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    GrantedAuthority authority = registry.authorityOf(next);
+                    next = nextOrdinal(next + 1);
+                    return authority;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof GrantedAuthority authority && PermissionSet.this.contains(authority.getAuthority());
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.exception.BadRequestException;
+import com.example.starter_project_2025.system.auth.entity.Permission;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import com.example.starter_project_2025.system.auth.entity.RoleHierarchy;
+import com.example.starter_project_2025.system.auth.repository.RoleHierarchyRepository;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory DAG of role inheritance: a child role holds every permission of its
+ * ancestors. Each role's ancestor closure and effective permission set are
+ * precomputed, so building a principal reads one map entry however deep the
+ * hierarchy is. An edit recomputes only the edited role and its descendants and
+ * is applied when its transaction commits. Edges being added are reserved until
+ * then, so two concurrent edits cannot close a cycle between them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleHierarchyGraph {
+
+    private final RoleRepository roleRepository;
+    private final RoleHierarchyRepository roleHierarchyRepository;
+    private final PermissionRegistry permissionRegistry;
+
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private final Set<Edge> reserved = new HashSet<>();
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), 0);
+
+    private record Edge(UUID parent, UUID child) {
+    }
+
+    /**
+     * What readers see: effective permission names and role names as of one
+     * recompute, with the permission sets built from them cached alongside.
+     */
+    private record Snapshot(Map<UUID, Set<String>> effective, Map<UUID, String> names, long version,
+                            Map<UUID, PermissionSet> permissionSets) {
+        Snapshot(Map<UUID, Set<String>> effective, Map<UUID, String> names, long version) {
+            this(effective, names, version, new ConcurrentHashMap<>());
+        }
+    }
+
+    public record View(String name, Set<String> parents, Set<String> children, Set<String> ancestors,
+                       Set<String> ownPermissions, Set<String> effectivePermissions) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<Role> roles = roleRepository.findAll();
+        List<RoleHierarchy> edges = roleHierarchyRepository.findAll();
+        synchronized (this) {
+            nodes.clear();
+            roles.forEach(role -> nodes.put(role.getId(), new Node(role.getName(), permissionNames(role))));
+            for (RoleHierarchy edge : edges) {
+                UUID parent = edge.getParentRole().getId();
+                UUID child = edge.getChildRole().getId();
+                if (reaches(child, parent)) {
+                    log.warn("Ignoring role hierarchy edge {} -> {}: it closes a cycle",
+                            edge.getParentRole().getName(), edge.getChildRole().getName());
+                    continue;
+                }
+                link(parent, child);
+            }
+            recompute(nodes.keySet());
+        }
+        log.info("Loaded role hierarchy with {} roles and {} edges", roles.size(), edges.size());
+    }
+
+    /**
+     * Effective permissions of {@code role}. A role the graph has not seen yet,
+     * such as one created in the current transaction, has no parents and gets
+     * its own permissions.
+     */
+    public PermissionSet effectivePermissions(Role role) {
+        PermissionSet permissions = effectivePermissions(role.getId());
+        return permissions != null ? permissions : permissionRegistry.fromPermissions(role.getPermissions());
+    }
+
+    /**
+     * Effective permissions of a committed role, or {@code null} if there is no
+     * such role.
+     */
+    public PermissionSet effectivePermissions(UUID roleId) {
+        Snapshot current = snapshot;
+        Set<String> names = current.effective().get(roleId);
+        return names == null ? null
+                : current.permissionSets().computeIfAbsent(roleId, id -> permissionRegistry.toPermissionSet(names));
+    }
+
+    public Set<UUID> roleIds() {
+        return snapshot.effective().keySet();
+    }
+
+    public String roleName(UUID roleId) {
+        return snapshot.names().get(roleId);
+    }
+
+    /**
+     * Incremented whenever any role's effective permissions may have changed.
+     */
+    public long version() {
+        return snapshot.version();
+    }
+
+    /**
+     * Names of every committed role that inherits from {@code roleId}, whose
+     * effective permissions therefore change along with it.
+     */
+    public synchronized Set<String> descendantNames(UUID roleId) {
+        Set<String> names = new TreeSet<>();
+        for (UUID id : descendants(roleId)) {
+            if (!id.equals(roleId)) {
+                names.add(nodes.get(id).name);
+            }
+        }
+        return names;
+    }
+
+    public synchronized View view(UUID roleId) {
+        Node node = nodes.get(roleId);
+        if (node == null) {
+            return null;
+        }
+        return new View(node.name, names(node.parents), names(node.children), names(node.ancestors),
+                new TreeSet<>(node.permissions), new TreeSet<>(node.effectivePermissions));
+    }
+
+    /**
+     * Validates and reserves a new edge; it takes effect when the current
+     * transaction commits and is released if it rolls back.
+     *
+     * @throws BadRequestException if the edge exists, is pending, or would create a cycle
+     */
+    public void reserveEdge(UUID parent, UUID child) {
+        Edge edge = new Edge(parent, child);
+        synchronized (this) {
+            if (parent.equals(child) || reaches(child, parent)) {
+                throw new BadRequestException("Role hierarchy would contain a cycle");
+            }
+            Node node = nodes.get(child);
+            if ((node != null && node.parents.contains(parent)) || !reserved.add(edge)) {
+                throw new BadRequestException("Role hierarchy edge already exists");
+            }
+        }
+        onCompletion(committed -> {
+            synchronized (this) {
+                reserved.remove(edge);
+                if (committed && nodes.containsKey(parent) && nodes.containsKey(child)) {
+                    link(parent, child);
+                    recompute(List.of(child));
+                }
+            }
+        });
+    }
+
+    public void edgeRemoved(UUID parent, UUID child) {
+        afterCommit(() -> {
+            Node node = nodes.get(child);
+            Node parentNode = nodes.get(parent);
+            if (node != null && parentNode != null) {
+                node.parents.remove(parent);
+                parentNode.children.remove(child);
+                recompute(List.of(child));
+            }
+        });
+    }
+
+    /**
+     * Records the name and own permissions of a created or updated role.
+     */
+    public void roleSaved(Role role) {
+        UUID id = role.getId();
+        String name = role.getName();
+        Set<String> permissions = permissionNames(role);
+        afterCommit(() -> {
+            Node node = nodes.computeIfAbsent(id, key -> new Node(name, permissions));
+            node.name = name;
+            node.permissions = permissions;
+            recompute(List.of(id));
+        });
+    }
+
+    public void roleDeleted(UUID roleId) {
+        afterCommit(() -> {
+            Node node = nodes.remove(roleId);
+            if (node == null) {
+                return;
+            }
+            node.parents.forEach(parent -> nodes.get(parent).children.remove(roleId));
+            node.children.forEach(child -> nodes.get(child).parents.remove(roleId));
+            recompute(node.children);
+        });
+    }
+
+    public void permissionRenamed(String oldName, String newName) {
+        afterCommit(() -> recompute(replacePermission(oldName, permissions -> permissions.add(newName))));
+    }
+
+    public void permissionDeleted(String name) {
+        afterCommit(() -> recompute(replacePermission(name, permissions -> {
+        })));
+    }
+
+    private List<UUID> replacePermission(String name, Consumer<Set<String>> replacement) {
+        List<UUID> changed = new ArrayList<>();
+        nodes.forEach((id, node) -> {
+            if (node.permissions.contains(name)) {
+                Set<String> permissions = new HashSet<>(node.permissions);
+                permissions.remove(name);
+                replacement.accept(permissions);
+                node.permissions = permissions;
+                changed.add(id);
+            }
+        });
+        return changed;
+    }
+
+    private void link(UUID parent, UUID child) {
+        nodes.get(child).parents.add(parent);
+        nodes.get(parent).children.add(child);
+    }
+
+    /**
+     * True if {@code to} can be reached from {@code from} through committed or
+     * reserved child edges.
+     */
+    private boolean reaches(UUID from, UUID to) {
+        Deque<UUID> stack = new ArrayDeque<>(List.of(from));
+        Set<UUID> seen = new HashSet<>();
+        while (!stack.isEmpty()) {
+            UUID id = stack.pop();
+            if (id.equals(to)) {
+                return true;
+            }
+            if (!seen.add(id)) {
+                continue;
+            }
+            Node node = nodes.get(id);
+            if (node != null) {
+                stack.addAll(node.children);
+            }
+            for (Edge edge : reserved) {
+                if (edge.parent().equals(id)) {
+                    stack.push(edge.child());
+                }
+            }
+        }
+        return false;
+    }
+
+    private Set<UUID> descendants(UUID roleId) {
+        Set<UUID> result = new LinkedHashSet<>();
+        Deque<UUID> queue = new ArrayDeque<>(List.of(roleId));
+        while (!queue.isEmpty()) {
+            UUID id = queue.poll();
+            Node node = nodes.get(id);
+            if (node != null && result.add(id)) {
+                queue.addAll(node.children);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Recomputes closure and effective permissions for the given roles and all
+     * their descendants, parents before children, then publishes a new snapshot.
+     */
+    private void recompute(Collection<UUID> roots) {
+        Set<UUID> affected = new LinkedHashSet<>();
+        roots.forEach(root -> affected.addAll(descendants(root)));
+
+        Map<UUID, Integer> pendingParents = new HashMap<>();
+        Deque<UUID> ready = new ArrayDeque<>();
+        for (UUID id : affected) {
+            int count = (int) nodes.get(id).parents.stream().filter(affected::contains).count();
+            pendingParents.put(id, count);
+            if (count == 0) {
+                ready.add(id);
+            }
+        }
+        while (!ready.isEmpty()) {
+            UUID id = ready.poll();
+            Node node = nodes.get(id);
+            Set<UUID> ancestors = new HashSet<>();
+            Set<String> permissions = new HashSet<>(node.permissions);
+            for (UUID parentId : node.parents) {
+                Node parent = nodes.get(parentId);
+                ancestors.add(parentId);
+                ancestors.addAll(parent.ancestors);
+                permissions.addAll(parent.effectivePermissions);
+            }
+            node.ancestors = Set.copyOf(ancestors);
+            node.effectivePermissions = Set.copyOf(permissions);
+            for (UUID child : node.children) {
+                if (pendingParents.merge(child, -1, Integer::sum) == 0) {
+                    ready.add(child);
+                }
+            }
+        }
+
+        Map<UUID, Set<String>> effective = new HashMap<>();
+        Map<UUID, String> names = new HashMap<>();
+        nodes.forEach((id, node) -> {
+            effective.put(id, node.effectivePermissions);
+            names.put(id, node.name);
+        });
+        snapshot = new Snapshot(Map.copyOf(effective), Map.copyOf(names), snapshot.version() + 1);
+    }
+
+    private Set<String> names(Set<UUID> ids) {
+        return ids.stream().map(id -> nodes.get(id).name).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static Set<String> permissionNames(Role role) {
+        return role.getPermissions().stream().map(Permission::getName).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private void afterCommit(Runnable action) {
+        onCompletion(committed -> {
+            if (committed) {
+                synchronized (this) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs {@code action} with the outcome of the current transaction, or right
+     * away when there is none. Ordered first so that the graph is up to date
+     * before the after-commit listeners evict cached principals.
+     */
+    private static void onCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static final class Node {
+        private String name;
+        private Set<String> permissions;
+        private final Set<UUID> parents = new LinkedHashSet<>();
+        private final Set<UUID> children = new LinkedHashSet<>();
+        private Set<UUID> ancestors = Set.of();
+        private Set<String> effectivePermissions = Set.of();
+
+        Node(String name, Set<String> permissions) {
+            this.name = name;
+            this.permissions = permissions;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.starter_project_2025.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Resolves a request to the permission its route requires using a table
+ * compiled once per HTTP method, and makes a single decision. When the route
+ * names exactly one permission, the granted ordinal is stored on the request
+ * so the {@code @PreAuthorize} check for the same permission only has to
+ * confirm it. Requests that match no route only need to be authenticated.
+ */
+public final class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    static final String AUTHORIZED_PERMISSION_ATTRIBUTE = RouteAuthorizationManager.class.getName() + ".PERMISSION";
+
+    private enum Method { GET, POST, PUT, PATCH, DELETE, HEAD, OPTIONS, TRACE }
+
+    private final Map<Method, Route[]> routesByMethod = new EnumMap<>(Method.class);
+    private final Route[] anyMethodRoutes;
+
+    private RouteAuthorizationManager(List<Route> routes) {
+        for (Method method : Method.values()) {
+            routesByMethod.put(method, routes.stream()
+                    .filter(route -> route.method == null || route.method == method)
+                    .toArray(Route[]::new));
+        }
+        anyMethodRoutes = routes.stream().filter(route -> route.method == null).toArray(Route[]::new);
+    }
+
+    public static Builder builder(PermissionRegistry registry) {
+        return new Builder(registry);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        Authentication auth = authentication.get();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return new AuthorizationDecision(false);
+        }
+
+        Route route = resolve(request);
+        if (route == null || route.permission == null) {
+            return new AuthorizationDecision(true);
+        }
+        boolean granted = route.permission.isGranted(auth);
+        if (granted && route.singlePermission != null) {
+            request.setAttribute(AUTHORIZED_PERMISSION_ATTRIBUTE, route.singlePermission.ordinals()[0]);
+        }
+        return new AuthorizationDecision(granted);
+    }
+
+    private Route resolve(HttpServletRequest request) {
+        Route[] candidates;
+        try {
+            candidates = routesByMethod.get(Method.valueOf(request.getMethod()));
+        } catch (IllegalArgumentException e) {
+            candidates = anyMethodRoutes;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : candidates) {
+            if (route.pattern.matches(container)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether the route check of the current request already granted one of
+     * the given permission ordinals.
+     */
+    static boolean isConfirmed(int[] ordinals) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        Object granted = attributes.getAttribute(AUTHORIZED_PERMISSION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (granted instanceof Integer ordinal) {
+            for (int candidate : ordinals) {
+                if (candidate == ordinal) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class Route {
+        private final Method method;
+        private final PathPattern pattern;
+        private final PermissionAuthorizationManager<Object> permission;
+        private final PermissionAuthorizationManager<Object> singlePermission;
+
+        private Route(Method method, PathPattern pattern, PermissionAuthorizationManager<Object> permission, int count) {
+            this.method = method;
+            this.pattern = pattern;
+            this.permission = permission;
+            this.singlePermission = count == 1 ? permission : null;
+        }
+    }
+
+    public static final class Builder {
+        private final PermissionRegistry registry;
+        private final PathPatternParser parser = new PathPatternParser();
+        private final List<Route> routes = new ArrayList<>();
+
+        private Builder(PermissionRegistry registry) {
+            this.registry = registry;
+        }
+
+        /**
+         * Adds a rule; rules are matched in declaration order. A {@code null}
+         * method matches every method and no permissions means authenticated only.
+         */
+        public Builder route(HttpMethod method, String pattern, String... anyOfPermissions) {
+            Method routeMethod = method != null ? Method.valueOf(method.name()) : null;
+            PermissionAuthorizationManager<Object> permission = anyOfPermissions.length > 0
+                    ? PermissionAuthorizationManager.hasAnyPermission(registry, anyOfPermissions)
+                    : null;
+            routes.add(new Route(routeMethod, parser.parse(pattern), permission, anyOfPermissions.length));
+            return this;
+        }
+
+        public RouteAuthorizationManager build() {
+            return new RouteAuthorizationManager(routes);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.security.event.RoleSecurityChangedEvent;
+import com.example.starter_project_2025.security.event.UserSecurityChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when a user or role last had a security-relevant change, so that
+ * tokens issued before that moment are no longer trusted on their claims alone.
+ * <p>
+ * The stamps live in memory on this instance only. Tokens issued before the
+ * instance started are therefore never trusted on their claims, and changes made
+ * through another instance are not seen here, which is why {@code jwt.claims-only}
+ * defaults to {@code false}. When more than {@code security.version.max-entries}
+ * stamps are held, they are dropped and every token issued up to that moment is
+ * treated as stale instead.
+ */
+@Component
+public class SecurityVersionRegistry {
+
+    @Value("${security.version.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${jwt.expiration}")
+    private long tokenLifetimeMs;
+
+    private final Map<UUID, Long> userChangedAt = new ConcurrentHashMap<>();
+    private final Map<String, Long> roleChangedAt = new ConcurrentHashMap<>();
+    private volatile long staleUntil = System.currentTimeMillis();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserSecurityChangedEvent event) {
+        if (event.userId() != null) {
+            userChangedAt.put(event.userId(), System.currentTimeMillis());
+            trimIfFull();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleChanged(RoleSecurityChangedEvent event) {
+        if (event.roleName() != null) {
+            roleChangedAt.put(event.roleName(), System.currentTimeMillis());
+            trimIfFull();
+        }
+    }
+
+    /**
+     * JWT timestamps have second precision, so a token issued in the same
+     * second as a change is treated as stale and re-checked against the database.
+     */
+    public boolean isCurrent(UUID userId, String roleName, Date issuedAt) {
+        if (issuedAt == null) {
+            return false;
+        }
+        long issued = issuedAt.getTime();
+        if (issued <= staleUntil) {
+            return false;
+        }
+        Long userStamp = userId != null ? userChangedAt.get(userId) : null;
+        if (userStamp != null && issued <= userStamp) {
+            return false;
+        }
+        Long roleStamp = roleName != null ? roleChangedAt.get(roleName) : null;
+        return roleStamp == null || issued > roleStamp;
+    }
+
+    /**
+     * Stamps older than the access-token lifetime can only match expired tokens.
+     */
+    @Scheduled(fixedDelayString = "${security.version.sweep-interval-ms:60000}")
+    public void sweep() {
+        long cutoff = System.currentTimeMillis() - tokenLifetimeMs;
+        userChangedAt.values().removeIf(stamp -> stamp < cutoff);
+        roleChangedAt.values().removeIf(stamp -> stamp < cutoff);
+    }
+
+    int size() {
+        return userChangedAt.size() + roleChangedAt.size();
+    }
+
+    private void trimIfFull() {
+        if (userChangedAt.size() + roleChangedAt.size() <= maxEntries) {
+            return;
+        }
+        synchronized (this) {
+            if (userChangedAt.size() + roleChangedAt.size() <= maxEntries) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            staleUntil = now;
+            userChangedAt.values().removeIf(stamp -> stamp <= now);
+            roleChangedAt.values().removeIf(stamp -> stamp <= now);
+        }
+    }
+}
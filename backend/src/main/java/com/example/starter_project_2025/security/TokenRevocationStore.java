@@ -0,0 +1,102 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Denylist of revoked access tokens keyed by {@code jti}. A Bloom filter answers
+ * "definitely not revoked" for almost every request without touching the exact
+ * set; only filter hits consult the map, whose entries live until the token's
+ * own expiry. A background sweep drops expired entries and rebuilds the filter.
+ * <p>
+ * The denylist is held in memory on this instance only and is not persisted: an
+ * access token revoked on logout is accepted again after a restart, or by another
+ * instance, until it expires. Access tokens are short-lived ({@code jwt.expiration})
+ * to bound that window; the refresh token family revoked on logout is persisted.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    @Value("${security.revocation.expected-entries:100000}")
+    private long expectedEntries;
+
+    @Value("${security.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public synchronized void revoke(String tokenId, long expiresAt) {
+        if (tokenId == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt);
+        filter.put(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        checks.increment();
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.increment();
+        Long expiresAt = revoked.get(tokenId);
+        if (expiresAt == null) {
+            falsePositives.increment();
+            return false;
+        }
+        return expiresAt > System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.sweep-interval-ms:60000}")
+    public synchronized void sweep() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        if (!revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2L), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        log.debug("Revocation sweep removed {} expired entries, {} remain", before - revoked.size(), revoked.size());
+    }
+
+    public Map<String, Object> getStats() {
+        BloomFilter current = filter;
+        long checked = checks.sum();
+        long hits = filterHits.sum();
+        long misses = falsePositives.sum();
+        // Only checks for tokens that are not in the denylist can be false positives
+        long absentChecks = checked - (hits - misses);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", revoked.size());
+        stats.put("checks", checked);
+        stats.put("filterHits", hits);
+        stats.put("falsePositives", misses);
+        stats.put("observedFalsePositiveRate", absentChecks == 0 ? 0.0 : (double) misses / absentChecks);
+        stats.put("expectedFalsePositiveRate", current.expectedFalsePositiveRate());
+        stats.put("filterBits", current.bitCount());
+        stats.put("filterHashFunctions", current.hashFunctions());
+        stats.put("memoryBytes", current.memoryBytes());
+        return stats;
+    }
+}
@@ -1,17 +1,13 @@
 package com.example.starter_project_2025.security;
 
-import com.example.starter_project_2025.system.auth.entity.Permission;
 import com.example.starter_project_2025.system.user.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Data
 @AllArgsConstructor
@@ -23,21 +19,14 @@ public class UserDetailsImpl implements UserDetails {
     private String firstName;
     private String lastName;
     private String role;
-    private Set<Permission> permissions;
+    private PermissionSet permissions;
     private boolean isActive;
 
-    public static UserDetailsImpl build(User user) {
-        var permissions = user.getRole().getPermissions();
-        System.out.println("=== UserDetailsImpl.build DEBUG ===");
-        System.out.println("User: " + user.getEmail());
-        System.out.println("Role: " + user.getRole().getName());
-        System.out.println("Role object: " + user.getRole());
-        System.out.println("Permissions object: " + permissions);
-        System.out.println("Permissions count: " + (permissions != null ? permissions.size() : "null"));
-        if (permissions != null && !permissions.isEmpty()) {
-            System.out.println("First permission: " + permissions.iterator().next().getName());
-        }
-
+    /**
+     * Builds the principal for {@code user} with {@code effectivePermissions},
+     * the role's own permissions plus those it inherits.
+     */
+    public static UserDetailsImpl build(User user, PermissionSet effectivePermissions) {
         return new UserDetailsImpl(
                 user.getId(),
                 user.getEmail(),
@@ -45,19 +34,34 @@ public class UserDetailsImpl implements UserDetails {
                 user.getFirstName(),
                 user.getLastName(),
                 user.getRole().getName(),
-                permissions,
+                effectivePermissions,
                 user.getIsActive()
         );
     }
 
+    public static UserDetailsImpl fromClaims(UUID id, String email, String role, Collection<String> permissionNames,
+                                             PermissionRegistry permissionRegistry) {
+        return fromClaims(id, email, role, permissionRegistry.toPermissionSet(permissionNames));
+    }
+
+    public static UserDetailsImpl fromClaims(UUID id, String email, String role, PermissionSet permissions) {
+        return new UserDetailsImpl(id, email, null, null, null, role, permissions, true);
+    }
+
+    /**
+     * Copy of this principal without the password hash, for caching.
+     */
+    public UserDetailsImpl withoutPassword() {
+        return new UserDetailsImpl(id, email, null, firstName, lastName, role, permissions, isActive);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        Collection<GrantedAuthority> authorities = permissions.stream()
-                .map(permission -> new SimpleGrantedAuthority(permission.getName()))
-                .collect(Collectors.toSet());
-        return permissions.stream()
-                .map(permission -> new SimpleGrantedAuthority(permission.getName()))
-                .collect(Collectors.toSet());
+        return permissions.asAuthorities();
+    }
+
+    public boolean hasPermission(String permissionName) {
+        return permissions.contains(permissionName);
     }
 
     @Override
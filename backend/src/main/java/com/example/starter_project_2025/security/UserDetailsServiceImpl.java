@@ -1,25 +1,102 @@
 package com.example.starter_project_2025.security;
 
+import com.example.starter_project_2025.security.event.RoleSecurityChangedEvent;
+import com.example.starter_project_2025.security.event.UserSecurityChangedEvent;
 import com.example.starter_project_2025.system.user.entity.User;
 import com.example.starter_project_2025.system.user.repository.UserRepository;
+import com.example.starter_project_2025.util.ExpiringCache;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final RoleHierarchyGraph roleHierarchyGraph;
 
+    @Value("${security.user-cache.ttl-ms:300000}")
+    private long cacheTtlMs;
+
+    @Value("${security.user-cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    private ExpiringCache<String, UserDetailsImpl> userCache;
+
+    @PostConstruct
+    void init() {
+        userCache = new ExpiringCache<>(cacheMaxSize);
+    }
+
+    /**
+     * Loads the user with its password hash for authentication. Always reads the
+     * database and refreshes the cached principal.
+     */
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetailsImpl userDetails = load(email);
+        userCache.put(email, userDetails.withoutPassword(), System.currentTimeMillis() + cacheTtlMs);
+        return userDetails;
+    }
+
+    /**
+     * Returns the principal for an already authenticated request. Served from
+     * the cache, which holds principals without their password hash.
+     */
+    @Transactional(readOnly = true)
+    public UserDetailsImpl loadPrincipal(String email) throws UsernameNotFoundException {
+        UserDetailsImpl cached = userCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserDetailsImpl principal = load(email).withoutPassword();
+        userCache.put(email, principal, System.currentTimeMillis() + cacheTtlMs);
+        return principal;
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPasswordHash(newPassword);
+        userRepository.save(user);
+        userCache.remove(user.getEmail());
+
+        UserDetailsImpl current = (UserDetailsImpl) userDetails;
+        return new UserDetailsImpl(current.getId(), current.getEmail(), newPassword, current.getFirstName(),
+                current.getLastName(), current.getRole(), current.getPermissions(), current.isActive());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserSecurityChangedEvent event) {
+        if (event.email() != null) {
+            userCache.remove(event.email());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleChanged(RoleSecurityChangedEvent event) {
+        userCache.removeIf((email, userDetails) -> event.roleName().equals(userDetails.getRole()));
+    }
+
+    public ExpiringCache<String, UserDetailsImpl> getUserCache() {
+        return userCache;
+    }
+
+    private UserDetailsImpl load(String email) {
         User user = userRepository.findByEmailWithRoleAndPermissions(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        return UserDetailsImpl.build(user);
+        return UserDetailsImpl.build(user, roleHierarchyGraph.effectivePermissions(user.getRole()));
     }
 }
@@ -0,0 +1,4 @@
+package com.example.starter_project_2025.security.event;
+
+public record RoleSecurityChangedEvent(String roleName) {
+}
@@ -0,0 +1,6 @@
+package com.example.starter_project_2025.security.event;
+
+import java.util.UUID;
+
+public record UserSecurityChangedEvent(UUID userId, String email) {
+}
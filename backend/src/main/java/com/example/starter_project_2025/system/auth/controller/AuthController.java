@@ -2,9 +2,11 @@ package com.example.starter_project_2025.system.auth.controller;
 
 import com.example.starter_project_2025.system.auth.dto.LoginRequest;
 import com.example.starter_project_2025.system.auth.dto.LoginResponse;
+import com.example.starter_project_2025.system.auth.dto.RefreshTokenRequest;
 import com.example.starter_project_2025.system.auth.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -21,8 +23,25 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "Authenticate user", description = "Authenticates user credentials and returns JWT token")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        LoginResponse response = authService.authenticateUser(loginRequest);
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                                               HttpServletRequest request) {
+        LoginResponse response = authService.authenticateUser(loginRequest, request.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchanges a refresh token for a new access token and a rotated refresh token")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        LoginResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Log out", description = "Revokes the presented access token and, if given, the refresh token family")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
 }
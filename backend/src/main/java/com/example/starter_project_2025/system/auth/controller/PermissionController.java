@@ -1,22 +1,29 @@
 package com.example.starter_project_2025.system.auth.controller;
 
 import com.example.starter_project_2025.system.auth.dto.PermissionDTO;
+import com.example.starter_project_2025.system.auth.service.PermissionCatalog;
 import com.example.starter_project_2025.system.auth.service.PermissionService;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.CsvUtil;
+import com.example.starter_project_2025.util.PageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -29,30 +36,29 @@ public class PermissionController {
     private final PermissionService permissionService;
 
     @GetMapping
-    @Operation(summary = "Get all permissions", description = "Retrieve all permissions with pagination")
-    public ResponseEntity<Page<PermissionDTO>> getAllPermissions(
+    @Operation(summary = "Get all permissions", description = "Retrieve all permissions with pagination; count=exact|none|approximate controls the total")
+    public ResponseEntity<PageResponse<PermissionDTO>> getAllPermissions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "name,asc") String[] sort) {
+            @RequestParam(defaultValue = "name,asc") String[] sort,
+            @RequestParam(defaultValue = "exact") String count) {
 
         Sort.Direction direction = Sort.Direction.fromString(sort[1]);
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort[0]));
-        Page<PermissionDTO> permissions = permissionService.getAllPermissions(pageable);
+        PageResponse<PermissionDTO> permissions = permissionService.getAllPermissions(pageable, CountMode.from(count));
         return ResponseEntity.ok(permissions);
     }
 
     @GetMapping("/list")
-    @Operation(summary = "Get all permissions list", description = "Retrieve all permissions as a list")
-    public ResponseEntity<List<PermissionDTO>> getAllPermissionsList() {
-        List<PermissionDTO> permissions = permissionService.getAllPermissionsList();
-        return ResponseEntity.ok(permissions);
+    @Operation(summary = "Get all permissions list", description = "Retrieve all permissions as a list; send If-None-Match to revalidate")
+    public ResponseEntity<byte[]> getAllPermissionsList(WebRequest request) {
+        return catalogResponse(permissionService.getAllPermissionsListJson(), request);
     }
 
     @GetMapping("/by-resource")
-    @Operation(summary = "Get permissions grouped by resource", description = "Retrieve permissions grouped by resource type")
-    public ResponseEntity<Map<String, List<PermissionDTO>>> getPermissionsByResource() {
-        Map<String, List<PermissionDTO>> permissions = permissionService.getPermissionsByResource();
-        return ResponseEntity.ok(permissions);
+    @Operation(summary = "Get permissions grouped by resource", description = "Retrieve permissions grouped by resource type; send If-None-Match to revalidate")
+    public ResponseEntity<byte[]> getPermissionsByResource(WebRequest request) {
+        return catalogResponse(permissionService.getPermissionsByResourceJson(), request);
     }
 
     @GetMapping("/resource/{resource}")
@@ -62,6 +68,16 @@ public class PermissionController {
         return ResponseEntity.ok(permissions);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export permissions", description = "Stream all permissions as CSV")
+    public ResponseEntity<StreamingResponseBody> exportPermissions() {
+        StreamingResponseBody body = permissionService.exportPermissionsCsv();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"permissions.csv\"")
+                .contentType(CsvUtil.CSV_MEDIA_TYPE)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get permission by ID", description = "Retrieve a specific permission by ID")
     public ResponseEntity<PermissionDTO> getPermissionById(@PathVariable UUID id) {
@@ -91,4 +107,18 @@ public class PermissionController {
         permissionService.deletePermission(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Writes a pre-serialized catalog body, or 304 when the client already holds it.
+     */
+    private static ResponseEntity<byte[]> catalogResponse(PermissionCatalog.Json json, WebRequest request) {
+        if (request.checkNotModified(json.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(json.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.body());
+    }
 }
@@ -1,19 +1,25 @@
 package com.example.starter_project_2025.system.auth.controller;
 
 import com.example.starter_project_2025.system.auth.dto.RoleDTO;
+import com.example.starter_project_2025.system.auth.dto.RoleHierarchyDTO;
 import com.example.starter_project_2025.system.auth.service.RoleService;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.CsvUtil;
+import com.example.starter_project_2025.util.CursorPage;
+import com.example.starter_project_2025.util.PageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 import java.util.Set;
@@ -29,18 +35,40 @@ public class RoleController {
     private final RoleService roleService;
 
     @GetMapping
-    @Operation(summary = "Get all roles", description = "Retrieve all roles with pagination")
-    public ResponseEntity<Page<RoleDTO>> getAllRoles(
+    @Operation(summary = "Get all roles", description = "Retrieve all roles with pagination; count=exact|none|approximate controls the total")
+    public ResponseEntity<PageResponse<RoleDTO>> getAllRoles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "name,asc") String[] sort) {
+            @RequestParam(defaultValue = "name,asc") String[] sort,
+            @RequestParam(defaultValue = "exact") String count) {
 
         Sort.Direction direction = Sort.Direction.fromString(sort[1]);
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort[0]));
-        Page<RoleDTO> roles = roleService.getAllRoles(pageable);
+        PageResponse<RoleDTO> roles = roleService.getAllRoles(pageable, CountMode.from(count));
         return ResponseEntity.ok(roles);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get roles by cursor", description = "Retrieve roles with keyset pagination; pass nextCursor back to fetch the next window")
+    public ResponseEntity<CursorPage<RoleDTO>> getRolesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name,asc") String[] sort) {
+
+        CursorPage<RoleDTO> result = roleService.getRolesByCursor(cursor, Math.min(Math.max(size, 1), 100), sort);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export roles", description = "Stream all roles as CSV")
+    public ResponseEntity<StreamingResponseBody> exportRoles() {
+        StreamingResponseBody body = roleService.exportRolesCsv();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"roles.csv\"")
+                .contentType(CsvUtil.CSV_MEDIA_TYPE)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get role by ID", description = "Retrieve a specific role by ID with permissions")
     public ResponseEntity<RoleDTO> getRoleById(@PathVariable UUID id) {
@@ -97,4 +125,25 @@ public class RoleController {
         RoleDTO role = roleService.removePermissionsFromRole(roleId, permissionIds);
         return ResponseEntity.ok(role);
     }
+
+    @GetMapping("/{id}/hierarchy")
+    @Operation(summary = "Get role hierarchy", description = "Parents, children, ancestors and inherited permissions of a role")
+    public ResponseEntity<RoleHierarchyDTO> getRoleHierarchy(@PathVariable UUID id) {
+        RoleHierarchyDTO hierarchy = roleService.getRoleHierarchy(id);
+        return ResponseEntity.ok(hierarchy);
+    }
+
+    @PostMapping("/{id}/parents/{parentId}")
+    @Operation(summary = "Add parent role", description = "Make a role inherit every permission of another role")
+    public ResponseEntity<RoleHierarchyDTO> addParentRole(@PathVariable UUID id, @PathVariable UUID parentId) {
+        roleService.addParentRole(id, parentId);
+        return ResponseEntity.ok(roleService.getRoleHierarchy(id));
+    }
+
+    @DeleteMapping("/{id}/parents/{parentId}")
+    @Operation(summary = "Remove parent role", description = "Stop a role inheriting from another role")
+    public ResponseEntity<RoleHierarchyDTO> removeParentRole(@PathVariable UUID id, @PathVariable UUID parentId) {
+        roleService.removeParentRole(id, parentId);
+        return ResponseEntity.ok(roleService.getRoleHierarchy(id));
+    }
 }
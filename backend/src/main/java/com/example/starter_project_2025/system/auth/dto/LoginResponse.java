@@ -9,6 +9,7 @@ import java.util.Set;
 @AllArgsConstructor
 public class LoginResponse {
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private String email;
     private String firstName;
@@ -16,8 +17,9 @@ public class LoginResponse {
     private String role;
     private Set<String> permissions;
 
-    public LoginResponse(String token, String email, String firstName, String lastName, String role, Set<String> permissions) {
+    public LoginResponse(String token, String refreshToken, String email, String firstName, String lastName, String role, Set<String> permissions) {
         this.token = token;
+        this.refreshToken = refreshToken;
         this.type = "Bearer";
         this.email = email;
         this.firstName = firstName;
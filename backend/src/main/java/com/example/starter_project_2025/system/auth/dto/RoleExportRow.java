@@ -0,0 +1,12 @@
+package com.example.starter_project_2025.system.auth.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One role joined to one of its permissions; a role without permissions yields
+ * a single row with a {@code null} permission name.
+ */
+public record RoleExportRow(UUID id, String name, String description, Integer hierarchyLevel, Boolean isActive,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, String permissionName) {
+}
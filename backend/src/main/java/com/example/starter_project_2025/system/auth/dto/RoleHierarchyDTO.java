@@ -0,0 +1,18 @@
+package com.example.starter_project_2025.system.auth.dto;
+
+import lombok.Data;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+public class RoleHierarchyDTO {
+    private UUID id;
+    private String name;
+    private Set<String> parentRoles;
+    private Set<String> childRoles;
+    private Set<String> ancestorRoles;
+    private Set<String> permissionNames;
+    private Set<String> inheritedPermissionNames;
+    private Set<String> effectivePermissionNames;
+}
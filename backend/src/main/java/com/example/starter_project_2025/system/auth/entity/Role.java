@@ -12,7 +12,10 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "roles")
+@Table(name = "roles", indexes = {
+        @Index(name = "idx_roles_hierarchy_level", columnList = "hierarchyLevel, id"),
+        @Index(name = "idx_roles_created_at", columnList = "createdAt, id")
+})
 @Setter
 @Getter
 @NoArgsConstructor
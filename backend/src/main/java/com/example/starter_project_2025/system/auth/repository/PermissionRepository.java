@@ -1,12 +1,20 @@
 package com.example.starter_project_2025.system.auth.repository;
 
+import com.example.starter_project_2025.system.auth.dto.PermissionDTO;
 import com.example.starter_project_2025.system.auth.entity.Permission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, UUID> {
@@ -14,4 +22,15 @@ public interface PermissionRepository extends JpaRepository<Permission, UUID> {
     List<Permission> findByResource(String resource);
     List<Permission> findByAction(String action);
     boolean existsByName(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.name FROM Permission p")
+    Stream<String> streamNames();
+
+    Slice<Permission> findAllBy(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.starter_project_2025.system.auth.dto.PermissionDTO("
+            + "p.id, p.name, p.description, p.resource, p.action, p.createdAt) FROM Permission p ORDER BY p.name")
+    Stream<PermissionDTO> streamAllDTO();
 }
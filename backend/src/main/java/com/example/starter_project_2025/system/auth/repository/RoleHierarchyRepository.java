@@ -0,0 +1,22 @@
+package com.example.starter_project_2025.system.auth.repository;
+
+import com.example.starter_project_2025.system.auth.entity.RoleHierarchy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface RoleHierarchyRepository extends JpaRepository<RoleHierarchy, UUID> {
+
+    @Modifying
+    @Query("DELETE FROM RoleHierarchy h WHERE h.parentRole.id = :parentId AND h.childRole.id = :childId")
+    int deleteEdge(@Param("parentId") UUID parentId, @Param("childId") UUID childId);
+
+    @Modifying
+    @Query("DELETE FROM RoleHierarchy h WHERE h.parentRole.id = :roleId OR h.childRole.id = :roleId")
+    int deleteByRole(@Param("roleId") UUID roleId);
+}
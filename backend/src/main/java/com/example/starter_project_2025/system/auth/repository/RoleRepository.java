@@ -1,20 +1,41 @@
 package com.example.starter_project_2025.system.auth.repository;
 
+import com.example.starter_project_2025.system.auth.dto.RoleExportRow;
 import com.example.starter_project_2025.system.auth.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Role, UUID> {
+public interface RoleRepository extends JpaRepository<Role, UUID>, JpaSpecificationExecutor<Role> {
     Optional<Role> findByName(String name);
     boolean existsByName(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r.name FROM Role r")
+    Stream<String> streamNames();
+
     Long countByIsActive(Boolean isActive);
 
     @Query("SELECT r FROM Role r LEFT JOIN FETCH r.permissions WHERE r.id = :id")
     Optional<Role> findByIdWithPermissions(@Param("id") UUID id);
+
+    Slice<Role> findAllBy(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.starter_project_2025.system.auth.dto.RoleExportRow("
+            + "r.id, r.name, r.description, r.hierarchyLevel, r.isActive, r.createdAt, r.updatedAt, p.name) "
+            + "FROM Role r LEFT JOIN r.permissions p ORDER BY r.id, p.name")
+    Stream<RoleExportRow> streamExportRows();
 }
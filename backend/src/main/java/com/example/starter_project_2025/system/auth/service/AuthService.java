@@ -1,9 +1,18 @@
 package com.example.starter_project_2025.system.auth.service;
 
+import com.example.starter_project_2025.exception.UnauthorizedException;
 import com.example.starter_project_2025.system.auth.dto.LoginRequest;
 import com.example.starter_project_2025.system.auth.dto.LoginResponse;
+import com.example.starter_project_2025.system.auth.dto.RefreshTokenRequest;
+import com.example.starter_project_2025.security.JwtClaims;
 import com.example.starter_project_2025.security.JwtUtil;
+import com.example.starter_project_2025.security.LoginExecutor;
+import com.example.starter_project_2025.security.LoginThrottle;
+import com.example.starter_project_2025.security.TokenRevocationStore;
 import com.example.starter_project_2025.security.UserDetailsImpl;
+import com.example.starter_project_2025.security.UserDetailsServiceImpl;
+import com.example.starter_project_2025.system.user.entity.User;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,36 +28,66 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final LoginExecutor loginExecutor;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
+    private final UserRepository userRepository;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationStore tokenRevocationStore;
 
-    public LoginResponse authenticateUser(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
+    public LoginResponse authenticateUser(LoginRequest loginRequest, String clientIp) {
+        loginThrottle.checkLoginAttempt(loginRequest.getEmail(), clientIp);
+
+        Authentication authentication = loginExecutor.execute(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         loginRequest.getEmail(),
                         loginRequest.getPassword()
                 )
-        );
+        ));
 
-        String token = jwtUtil.generateToken(authentication);
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        String token = jwtUtil.generateToken(userDetails);
+        String refreshToken = refreshTokenService.issue(userDetails.getId());
+
+        return toLoginResponse(token, refreshToken, userDetails);
+    }
 
-        var permissions = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toSet());
+    public LoginResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
 
-        System.out.println("=== AUTH SERVICE DEBUG ===");
-        System.out.println("User: " + userDetails.getEmail());
-        System.out.println("Role: " + userDetails.getRole());
-        System.out.println("Authorities count: " + userDetails.getAuthorities().size());
-        System.out.println("Permissions: " + permissions);
-        System.out.println("Permissions count: " + permissions.size());
+        User user = userRepository.findById(rotation.userId()).orElse(null);
+        UserDetailsImpl userDetails = user != null
+                ? userDetailsService.loadPrincipal(user.getEmail())
+                : null;
+        if (userDetails == null || !userDetails.isEnabled()) {
+            refreshTokenService.revokeFamily(rotation.familyId());
+            throw new UnauthorizedException("User account is no longer active");
+        }
+
+        return toLoginResponse(jwtUtil.generateToken(userDetails), rotation.refreshToken(), userDetails);
+    }
+
+    public void logout(String accessToken, String refreshToken) {
+        JwtClaims claims = jwtUtil.verifyToken(accessToken);
+        if (claims != null && claims.expiration() != null) {
+            tokenRevocationStore.revoke(claims.tokenId(), claims.expiration().getTime());
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
 
+    private LoginResponse toLoginResponse(String token, String refreshToken, UserDetailsImpl userDetails) {
         return new LoginResponse(
                 token,
+                refreshToken,
                 userDetails.getEmail(),
                 userDetails.getFirstName(),
                 userDetails.getLastName(),
                 userDetails.getRole(),
-                permissions
+                userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toSet())
         );
     }
 }
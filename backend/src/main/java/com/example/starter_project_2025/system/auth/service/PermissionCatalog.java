@@ -0,0 +1,158 @@
+package com.example.starter_project_2025.system.auth.service;
+
+import com.example.starter_project_2025.system.auth.dto.PermissionDTO;
+import com.example.starter_project_2025.system.auth.entity.Permission;
+import com.example.starter_project_2025.system.auth.repository.PermissionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the permission catalog. Lists, indexes and the JSON
+ * bodies of the list endpoints are built together and swapped in as one
+ * reference, so a read is a field dereference and never sees a half-built
+ * catalog. Built at startup; a committed catalog edit only marks it stale, and
+ * the next read rebuilds it.
+ * <p>
+ * ETags are derived from the serialized bodies, so they stay valid across
+ * restarts and instances; the version only counts rebuilds.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionCatalog {
+
+    private final PermissionRepository permissionRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate rebuildTransaction;
+    private volatile Snapshot snapshot;
+    private volatile boolean stale;
+    private long version;
+
+    /**
+     * One catalog version. The DTOs are shared; PermissionService hands out copies.
+     */
+    public record Snapshot(long version,
+                           List<PermissionDTO> permissions,
+                           Map<String, List<PermissionDTO>> byResource,
+                           Map<String, PermissionDTO> byName,
+                           Map<UUID, PermissionDTO> byId,
+                           Json listJson,
+                           Json byResourceJson) {
+    }
+
+    public record Json(byte[] body, String etag) {
+    }
+
+    @PostConstruct
+    void init() {
+        rebuildTransaction = new TransactionTemplate(transactionManager);
+        rebuildTransaction.setReadOnly(true);
+        rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        // Cleared first, so an edit committed during the rebuild marks it stale again
+        stale = false;
+        List<Permission> permissions = rebuildTransaction.execute(status -> permissionRepository.findAll());
+        List<PermissionDTO> list = permissions.stream()
+                .map(PermissionCatalog::toDTO)
+                .sorted(Comparator.comparing(PermissionDTO::getResource, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(PermissionDTO::getName))
+                .toList();
+
+        Map<String, List<PermissionDTO>> byResource = new LinkedHashMap<>();
+        list.forEach(permission -> byResource.computeIfAbsent(Objects.requireNonNullElse(permission.getResource(), ""),
+                key -> new ArrayList<>()).add(permission));
+        byResource.replaceAll((resource, group) -> List.copyOf(group));
+
+        version++;
+        snapshot = new Snapshot(version,
+                list,
+                Collections.unmodifiableMap(byResource),
+                list.stream().collect(Collectors.toUnmodifiableMap(PermissionDTO::getName, Function.identity())),
+                list.stream().collect(Collectors.toUnmodifiableMap(PermissionDTO::getId, Function.identity())),
+                serialize(list),
+                serialize(byResource));
+        log.debug("Rebuilt permission catalog version {} with {} permissions", version, list.size());
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || stale) {
+            current = rebuildIfStale();
+        }
+        return current;
+    }
+
+    /**
+     * Marks the snapshot stale once the current transaction commits, or right away
+     * when there is none. The writer does not wait for the rebuild.
+     */
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stale = true;
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stale = true;
+            }
+        });
+    }
+
+    private synchronized Snapshot rebuildIfStale() {
+        if (snapshot == null || stale) {
+            rebuild();
+        }
+        return snapshot;
+    }
+
+    private Json serialize(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return new Json(body, "\"" + HexFormat.of().formatHex(digest, 0, 12) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not serialize permission catalog", ex);
+        }
+    }
+
+    private static PermissionDTO toDTO(Permission permission) {
+        PermissionDTO dto = new PermissionDTO();
+        dto.setId(permission.getId());
+        dto.setName(permission.getName());
+        dto.setDescription(permission.getDescription());
+        dto.setResource(permission.getResource());
+        dto.setAction(permission.getAction());
+        return dto;
+    }
+}
@@ -5,15 +5,27 @@ import com.example.starter_project_2025.system.auth.entity.Permission;
 import com.example.starter_project_2025.exception.BadRequestException;
 import com.example.starter_project_2025.exception.ResourceNotFoundException;
 import com.example.starter_project_2025.system.auth.repository.PermissionRepository;
+import com.example.starter_project_2025.security.PermissionRegistry;
+import com.example.starter_project_2025.security.RoleHierarchyGraph;
+import com.example.starter_project_2025.security.event.RoleSecurityChangedEvent;
+import com.example.starter_project_2025.system.user.service.UniqueKeyFilters;
+import com.example.starter_project_2025.util.ApproximateCount;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.CsvUtil;
+import com.example.starter_project_2025.util.PageResponse;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,46 +33,78 @@ import java.util.stream.Collectors;
 public class PermissionService {
 
     private final PermissionRepository permissionRepository;
+    private final UniqueKeyFilters uniqueKeyFilters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PermissionRegistry permissionRegistry;
+    private final RoleHierarchyGraph roleHierarchyGraph;
+    private final PermissionCatalog permissionCatalog;
+    private final CsvUtil csvUtil;
+    private final PlatformTransactionManager transactionManager;
+    private ApproximateCount approximatePermissionCount;
+    private TransactionTemplate exportTransaction;
+
+    @PostConstruct
+    void init() {
+        approximatePermissionCount = new ApproximateCount(permissionRepository::count, ApproximateCount.DEFAULT_MAX_AGE_MS);
+        exportTransaction = new TransactionTemplate(transactionManager);
+        exportTransaction.setReadOnly(true);
+    }
 
     @PreAuthorize("hasAuthority('ROLE_READ')")
-    public Page<PermissionDTO> getAllPermissions(Pageable pageable) {
-        return permissionRepository.findAll(pageable).map(this::convertToDTO);
+    public PageResponse<PermissionDTO> getAllPermissions(Pageable pageable, CountMode countMode) {
+        return PageResponse.query(countMode, pageable, permissionRepository::findAll, permissionRepository::findAllBy, approximatePermissionCount)
+                .map(this::convertToDTO);
     }
 
     @PreAuthorize("hasAuthority('ROLE_READ')")
     public List<PermissionDTO> getAllPermissionsList() {
-        return permissionRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return copy(permissionCatalog.current().permissions());
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_READ')")
+    public PermissionCatalog.Json getAllPermissionsListJson() {
+        return permissionCatalog.current().listJson();
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_READ')")
+    public StreamingResponseBody exportPermissionsCsv() {
+        // Authorization happens here; the body runs later on an async thread with its own read-only transaction
+        return outputStream -> exportTransaction.executeWithoutResult(status -> {
+            try (Stream<PermissionDTO> rows = permissionRepository.streamAllDTO()) {
+                csvUtil.writePermissionsCsv(rows, outputStream);
+            }
+        });
     }
 
     @PreAuthorize("hasAuthority('ROLE_READ')")
     public PermissionDTO getPermissionById(UUID id) {
-        Permission permission = permissionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Permission", "id", id));
-        return convertToDTO(permission);
+        PermissionDTO permission = permissionCatalog.current().byId().get(id);
+        if (permission == null) {
+            throw new ResourceNotFoundException("Permission", "id", id);
+        }
+        return copy(permission);
     }
 
     @PreAuthorize("hasAuthority('ROLE_READ')")
     public Map<String, List<PermissionDTO>> getPermissionsByResource() {
-        List<Permission> permissions = permissionRepository.findAll();
-        return permissions.stream()
-                .collect(Collectors.groupingBy(
-                        Permission::getResource,
-                        Collectors.mapping(this::convertToDTO, Collectors.toList())
-                ));
+        Map<String, List<PermissionDTO>> byResource = new LinkedHashMap<>();
+        permissionCatalog.current().byResource().forEach((resource, group) -> byResource.put(resource, copy(group)));
+        return byResource;
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_READ')")
+    public PermissionCatalog.Json getPermissionsByResourceJson() {
+        return permissionCatalog.current().byResourceJson();
     }
 
     @PreAuthorize("hasAuthority('ROLE_READ')")
     public List<PermissionDTO> getPermissionsByResource(String resource) {
-        return permissionRepository.findByResource(resource).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return copy(permissionCatalog.current().byResource().getOrDefault(resource, List.of()));
     }
 
     @PreAuthorize("hasAuthority('ROLE_CREATE')")
     public PermissionDTO createPermission(PermissionDTO permissionDTO) {
-        if (permissionRepository.existsByName(permissionDTO.getName())) {
+        if (uniqueKeyFilters.permissionNames().exists(permissionDTO.getName(), permissionRepository::existsByName)) {
             throw new BadRequestException("Permission name already exists: " + permissionDTO.getName());
         }
 
@@ -70,7 +114,10 @@ public class PermissionService {
         permission.setResource(permissionDTO.getResource());
         permission.setAction(permissionDTO.getAction());
 
+        uniqueKeyFilters.permissionNames().add(permission.getName());
         Permission savedPermission = permissionRepository.save(permission);
+        permissionRegistry.ordinalOf(savedPermission.getName());
+        permissionCatalog.changed();
         return convertToDTO(savedPermission);
     }
 
@@ -80,10 +127,14 @@ public class PermissionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Permission", "id", id));
 
         if (permissionDTO.getName() != null && !permissionDTO.getName().equals(permission.getName())) {
-            if (permissionRepository.existsByName(permissionDTO.getName())) {
+            if (uniqueKeyFilters.permissionNames().exists(permissionDTO.getName(), permissionRepository::existsByName)) {
                 throw new BadRequestException("Permission name already exists: " + permissionDTO.getName());
             }
+            uniqueKeyFilters.permissionNames().add(permissionDTO.getName());
+            uniqueKeyFilters.permissionNames().removed();
+            roleHierarchyGraph.permissionRenamed(permission.getName(), permissionDTO.getName());
             permission.setName(permissionDTO.getName());
+            publishRoleChanges(permission);
         }
 
         if (permissionDTO.getDescription() != null) {
@@ -99,6 +150,8 @@ public class PermissionService {
         }
 
         Permission updatedPermission = permissionRepository.save(permission);
+        permissionRegistry.ordinalOf(updatedPermission.getName());
+        permissionCatalog.changed();
         return convertToDTO(updatedPermission);
     }
 
@@ -106,7 +159,30 @@ public class PermissionService {
     public void deletePermission(UUID id) {
         Permission permission = permissionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Permission", "id", id));
+        publishRoleChanges(permission);
         permissionRepository.delete(permission);
+        uniqueKeyFilters.permissionNames().removed();
+        roleHierarchyGraph.permissionDeleted(permission.getName());
+        permissionCatalog.changed();
+    }
+
+    private void publishRoleChanges(Permission permission) {
+        Set<String> roleNames = new TreeSet<>();
+        permission.getRoles().forEach(role -> {
+            roleNames.add(role.getName());
+            roleNames.addAll(roleHierarchyGraph.descendantNames(role.getId()));
+        });
+        roleNames.forEach(name -> eventPublisher.publishEvent(new RoleSecurityChangedEvent(name)));
+    }
+
+    // The catalog's DTOs are shared by every reader, so callers get their own copies
+    private static List<PermissionDTO> copy(List<PermissionDTO> permissions) {
+        return permissions.stream().map(PermissionService::copy).toList();
+    }
+
+    private static PermissionDTO copy(PermissionDTO permission) {
+        return new PermissionDTO(permission.getId(), permission.getName(), permission.getDescription(),
+                permission.getResource(), permission.getAction(), permission.getCreatedAt());
     }
 
     private PermissionDTO convertToDTO(Permission permission) {
@@ -0,0 +1,203 @@
+package com.example.starter_project_2025.system.auth.service;
+
+import com.example.starter_project_2025.exception.UnauthorizedException;
+import com.example.starter_project_2025.system.auth.entity.RefreshToken;
+import com.example.starter_project_2025.system.auth.repository.RefreshTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues opaque refresh tokens and rotates them on every use. Rows are persisted,
+ * but lookups are served from an in-memory index keyed by token hash. Presenting a
+ * token that was already rotated revokes its whole family, since one of the two
+ * holders must have stolen it.
+ * <p>
+ * The index follows the database: new and revoked tokens appear in it after
+ * their transaction commits, and a token claimed for rotation is released again
+ * if the rotation rolls back. A family revoked on reuse is committed in its own
+ * transaction, so it stays revoked although the rotation fails.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Map<String, TokenState> tokens = new ConcurrentHashMap<>();
+    private TransactionTemplate separateTransaction;
+
+    @PostConstruct
+    void init() {
+        separateTransaction = new TransactionTemplate(transactionManager);
+        separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpired(now);
+        refreshTokenRepository.findUnexpired(now).forEach(token -> tokens.put(token.getTokenHash(), TokenState.of(token)));
+        log.info("Loaded {} refresh tokens", tokens.size());
+    }
+
+    @Transactional
+    public String issue(UUID userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    @Transactional
+    public Rotation rotate(String rawToken) {
+        String hash = hash(rawToken);
+        TokenState state = tokens.get(hash);
+        if (state == null) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        if (state.expiresAt().isBefore(LocalDateTime.now())) {
+            tokens.remove(hash, state);
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+        TokenState claimed = state.markUsed();
+        if (state.used() || state.revoked() || !tokens.replace(hash, state, claimed)) {
+            log.warn("Refresh token reuse detected for user {}, revoking family {}", state.userId(), state.familyId());
+            separateTransaction.executeWithoutResult(status -> revokeFamilyNow(state.familyId()));
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+        // Claimed right away so a concurrent rotation of the same token counts as reuse
+        onRollback(() -> tokens.replace(hash, claimed, state));
+
+        refreshTokenRepository.markUsed(state.id(), LocalDateTime.now());
+        return new Rotation(state.userId(), state.familyId(), issue(state.userId(), state.familyId()));
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        TokenState state = tokens.get(hash(rawToken));
+        if (state != null) {
+            revokeFamilyNow(state.familyId());
+        }
+    }
+
+    @Transactional
+    public void revokeFamily(UUID familyId) {
+        revokeFamilyNow(familyId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-sweep-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        tokens.values().removeIf(state -> state.expiresAt().isBefore(now));
+        refreshTokenRepository.deleteExpired(now);
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private String issue(UUID userId, UUID familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUserId(userId);
+        token.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration)));
+        token = refreshTokenRepository.save(token);
+
+        TokenState state = TokenState.of(token);
+        afterCommit(() -> tokens.put(state.hash(), state));
+        return rawToken;
+    }
+
+    private void revokeFamilyNow(UUID familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+        afterCommit(() -> tokens.replaceAll((hash, state) -> state.familyId().equals(familyId) ? state.revoke() : state));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotation(UUID userId, UUID familyId, String refreshToken) {}
+
+    private record TokenState(UUID id, String hash, UUID familyId, UUID userId, LocalDateTime expiresAt,
+                              boolean used, boolean revoked) {
+
+        static TokenState of(RefreshToken token) {
+            return new TokenState(token.getId(), token.getTokenHash(), token.getFamilyId(), token.getUserId(),
+                    token.getExpiresAt(), token.getUsedAt() != null, Boolean.TRUE.equals(token.getRevoked()));
+        }
+
+        TokenState markUsed() {
+            return new TokenState(id, hash, familyId, userId, expiresAt, true, revoked);
+        }
+
+        TokenState revoke() {
+            return new TokenState(id, hash, familyId, userId, expiresAt, used, true);
+        }
+    }
+}
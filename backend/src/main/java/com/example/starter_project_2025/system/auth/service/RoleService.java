@@ -1,35 +1,101 @@
 package com.example.starter_project_2025.system.auth.service;
 
+import com.example.starter_project_2025.security.RoleHierarchyGraph;
 import com.example.starter_project_2025.system.auth.dto.RoleDTO;
+import com.example.starter_project_2025.system.auth.dto.RoleHierarchyDTO;
 import com.example.starter_project_2025.system.auth.entity.Permission;
 import com.example.starter_project_2025.system.auth.entity.Role;
+import com.example.starter_project_2025.system.auth.entity.RoleHierarchy;
 import com.example.starter_project_2025.exception.BadRequestException;
 import com.example.starter_project_2025.exception.ResourceNotFoundException;
 import com.example.starter_project_2025.system.auth.repository.PermissionRepository;
+import com.example.starter_project_2025.system.auth.repository.RoleHierarchyRepository;
 import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.example.starter_project_2025.security.event.RoleSecurityChangedEvent;
+import com.example.starter_project_2025.system.auth.dto.RoleExportRow;
+import com.example.starter_project_2025.system.user.service.UniqueKeyFilters;
+import com.example.starter_project_2025.util.ApproximateCount;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.CsvUtil;
+import com.example.starter_project_2025.util.CursorPage;
+import com.example.starter_project_2025.util.KeysetCursor;
+import com.example.starter_project_2025.util.PageResponse;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class RoleService {
 
+    private static final Map<String, Class<?>> CURSOR_KEYS = Map.of(
+            "name", String.class,
+            "hierarchyLevel", Integer.class,
+            "createdAt", LocalDateTime.class
+    );
+
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final RoleHierarchyRepository roleHierarchyRepository;
+    private final RoleHierarchyGraph roleHierarchyGraph;
+    private final UniqueKeyFilters uniqueKeyFilters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CsvUtil csvUtil;
+    private final PlatformTransactionManager transactionManager;
+    private ApproximateCount approximateRoleCount;
+    private TransactionTemplate exportTransaction;
+
+    @PostConstruct
+    void init() {
+        approximateRoleCount = new ApproximateCount(roleRepository::count, ApproximateCount.DEFAULT_MAX_AGE_MS);
+        exportTransaction = new TransactionTemplate(transactionManager);
+        exportTransaction.setReadOnly(true);
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_READ')")
+    public PageResponse<RoleDTO> getAllRoles(Pageable pageable, CountMode countMode) {
+        return PageResponse.query(countMode, pageable, roleRepository::findAll, roleRepository::findAllBy, approximateRoleCount)
+                .map(this::convertToDTO);
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_READ')")
+    public CursorPage<RoleDTO> getRolesByCursor(String cursor, int size, String[] sort) {
+        Sort keysetSort = KeysetCursor.sort(sort, CURSOR_KEYS);
+        ScrollPosition position = KeysetCursor.decode(cursor, keysetSort, CURSOR_KEYS);
+        Window<Role> window = roleRepository.findBy(Specification.<Role>where(null),
+                query -> query.sortBy(keysetSort).limit(size).scroll(position));
+        return KeysetCursor.toPage(window, this::convertToDTO);
+    }
 
     @PreAuthorize("hasAuthority('ROLE_READ')")
-    public Page<RoleDTO> getAllRoles(Pageable pageable) {
-        return roleRepository.findAll(pageable).map(this::convertToDTO);
+    public StreamingResponseBody exportRolesCsv() {
+        // Authorization happens here; the body runs later on an async thread with its own read-only transaction
+        return outputStream -> exportTransaction.executeWithoutResult(status -> {
+            try (Stream<RoleExportRow> rows = roleRepository.streamExportRows()) {
+                csvUtil.writeRolesCsv(rows, outputStream);
+            }
+        });
     }
 
     @PreAuthorize("hasAuthority('ROLE_READ')")
@@ -41,7 +107,7 @@ public class RoleService {
 
     @PreAuthorize("hasAuthority('ROLE_CREATE')")
     public RoleDTO createRole(RoleDTO roleDTO) {
-        if (roleRepository.existsByName(roleDTO.getName())) {
+        if (uniqueKeyFilters.roleNames().exists(roleDTO.getName(), roleRepository::existsByName)) {
             throw new BadRequestException("Role name already exists: " + roleDTO.getName());
         }
 
@@ -58,7 +124,9 @@ public class RoleService {
             role.setPermissions(permissions);
         }
 
+        uniqueKeyFilters.roleNames().add(role.getName());
         Role savedRole = roleRepository.save(role);
+        roleHierarchyGraph.roleSaved(savedRole);
         return convertToDTO(savedRole);
     }
 
@@ -66,11 +134,14 @@ public class RoleService {
     public RoleDTO updateRole(UUID id, RoleDTO roleDTO) {
         Role role = roleRepository.findByIdWithPermissions(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
+        publishRoleChanges(role);
 
         if (roleDTO.getName() != null && !roleDTO.getName().equals(role.getName())) {
-            if (roleRepository.existsByName(roleDTO.getName())) {
+            if (uniqueKeyFilters.roleNames().exists(roleDTO.getName(), roleRepository::existsByName)) {
                 throw new BadRequestException("Role name already exists: " + roleDTO.getName());
             }
+            uniqueKeyFilters.roleNames().add(roleDTO.getName());
+            uniqueKeyFilters.roleNames().removed();
             role.setName(roleDTO.getName());
         }
 
@@ -90,6 +161,7 @@ public class RoleService {
         }
 
         Role updatedRole = roleRepository.save(role);
+        roleHierarchyGraph.roleSaved(updatedRole);
         return convertToDTO(updatedRole);
     }
 
@@ -97,7 +169,11 @@ public class RoleService {
     public void deleteRole(UUID id) {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
+        roleHierarchyRepository.deleteByRole(id);
         roleRepository.delete(role);
+        uniqueKeyFilters.roleNames().removed();
+        roleHierarchyGraph.roleDeleted(id);
+        publishRoleChanges(role);
     }
 
     @PreAuthorize("hasAuthority('ROLE_UPDATE')")
@@ -106,6 +182,7 @@ public class RoleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
         role.setIsActive(!role.getIsActive());
         Role updatedRole = roleRepository.save(role);
+        publishRoleChanges(role);
         return convertToDTO(updatedRole);
     }
 
@@ -118,6 +195,8 @@ public class RoleService {
         role.getPermissions().addAll(permissions);
 
         Role updatedRole = roleRepository.save(role);
+        roleHierarchyGraph.roleSaved(updatedRole);
+        publishRoleChanges(role);
         return convertToDTO(updatedRole);
     }
 
@@ -129,9 +208,66 @@ public class RoleService {
         role.getPermissions().removeIf(p -> permissionIds.contains(p.getId()));
 
         Role updatedRole = roleRepository.save(role);
+        roleHierarchyGraph.roleSaved(updatedRole);
+        publishRoleChanges(role);
         return convertToDTO(updatedRole);
     }
 
+    @PreAuthorize("hasAuthority('ROLE_READ')")
+    public RoleHierarchyDTO getRoleHierarchy(UUID id) {
+        RoleHierarchyGraph.View view = roleHierarchyGraph.view(id);
+        if (view == null) {
+            throw new ResourceNotFoundException("Role", "id", id);
+        }
+        RoleHierarchyDTO dto = new RoleHierarchyDTO();
+        dto.setId(id);
+        dto.setName(view.name());
+        dto.setParentRoles(view.parents());
+        dto.setChildRoles(view.children());
+        dto.setAncestorRoles(view.ancestors());
+        dto.setPermissionNames(view.ownPermissions());
+        Set<String> inherited = new TreeSet<>(view.effectivePermissions());
+        inherited.removeAll(view.ownPermissions());
+        dto.setInheritedPermissionNames(inherited);
+        dto.setEffectivePermissionNames(view.effectivePermissions());
+        return dto;
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_UPDATE')")
+    public void addParentRole(UUID roleId, UUID parentId) {
+        Role role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "id", roleId));
+        Role parent = roleRepository.findById(parentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "id", parentId));
+        roleHierarchyGraph.reserveEdge(parentId, roleId);
+
+        RoleHierarchy edge = new RoleHierarchy();
+        edge.setParentRole(parent);
+        edge.setChildRole(role);
+        roleHierarchyRepository.save(edge);
+        publishRoleChanges(role);
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_UPDATE')")
+    public void removeParentRole(UUID roleId, UUID parentId) {
+        Role role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "id", roleId));
+        if (roleHierarchyRepository.deleteEdge(parentId, roleId) == 0) {
+            throw new ResourceNotFoundException("Parent role", "id", parentId);
+        }
+        roleHierarchyGraph.edgeRemoved(parentId, roleId);
+        publishRoleChanges(role);
+    }
+
+    /**
+     * Evicts cached principals of {@code role} and of every role inheriting from it.
+     */
+    private void publishRoleChanges(Role role) {
+        eventPublisher.publishEvent(new RoleSecurityChangedEvent(role.getName()));
+        roleHierarchyGraph.descendantNames(role.getId())
+                .forEach(name -> eventPublisher.publishEvent(new RoleSecurityChangedEvent(name)));
+    }
+
     private RoleDTO convertToDTO(Role role) {
         RoleDTO dto = new RoleDTO();
         dto.setId(role.getId());
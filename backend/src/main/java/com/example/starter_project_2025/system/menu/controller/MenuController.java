@@ -1,18 +1,21 @@
 package com.example.starter_project_2025.system.menu.controller;
 
+import com.example.starter_project_2025.security.UserDetailsImpl;
 import com.example.starter_project_2025.system.menu.dto.MenuDTO;
 import com.example.starter_project_2025.system.menu.service.MenuService;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.PageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,15 +31,16 @@ public class MenuController {
     private final MenuService menuService;
 
     @GetMapping
-    @Operation(summary = "Get all menus", description = "Retrieve all menus with pagination")
-    public ResponseEntity<Page<MenuDTO>> getAllMenus(
+    @Operation(summary = "Get all menus", description = "Retrieve all menus with pagination; count=exact|none|approximate controls the total")
+    public ResponseEntity<PageResponse<MenuDTO>> getAllMenus(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "displayOrder,asc") String[] sort) {
+            @RequestParam(defaultValue = "displayOrder,asc") String[] sort,
+            @RequestParam(defaultValue = "exact") String count) {
 
         Sort.Direction direction = Sort.Direction.fromString(sort[1]);
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort[0]));
-        Page<MenuDTO> menus = menuService.getAllMenus(pageable);
+        PageResponse<MenuDTO> menus = menuService.getAllMenus(pageable, CountMode.from(count));
         return ResponseEntity.ok(menus);
     }
 
@@ -48,9 +52,9 @@ public class MenuController {
     }
 
     @GetMapping("/active")
-    @Operation(summary = "Get active menus", description = "Retrieve all active menus")
-    public ResponseEntity<List<MenuDTO>> getActiveMenus() {
-        List<MenuDTO> menus = menuService.getActiveMenus();
+    @Operation(summary = "Get active menus", description = "Retrieve all active menus with the items the current user may access")
+    public ResponseEntity<List<MenuDTO>> getActiveMenus(@AuthenticationPrincipal UserDetailsImpl principal) {
+        List<MenuDTO> menus = menuService.getActiveMenus(principal.getId());
         return ResponseEntity.ok(menus);
     }
 
@@ -2,12 +2,14 @@ package com.example.starter_project_2025.system.menu.controller;
 
 import com.example.starter_project_2025.system.menu.dto.MenuItemDTO;
 import com.example.starter_project_2025.system.menu.service.MenuItemService;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.CursorPage;
+import com.example.starter_project_2025.util.PageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -28,18 +30,30 @@ public class MenuItemController {
     private final MenuItemService menuItemService;
 
     @GetMapping
-    @Operation(summary = "Get all menu items", description = "Retrieve all menu items with pagination")
-    public ResponseEntity<Page<MenuItemDTO>> getAllMenuItems(
+    @Operation(summary = "Get all menu items", description = "Retrieve all menu items with pagination; count=exact|none|approximate controls the total")
+    public ResponseEntity<PageResponse<MenuItemDTO>> getAllMenuItems(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "displayOrder,asc") String[] sort) {
+            @RequestParam(defaultValue = "displayOrder,asc") String[] sort,
+            @RequestParam(defaultValue = "exact") String count) {
 
         Sort.Direction direction = Sort.Direction.fromString(sort[1]);
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort[0]));
-        Page<MenuItemDTO> menuItems = menuItemService.getAllMenuItems(pageable);
+        PageResponse<MenuItemDTO> menuItems = menuItemService.getAllMenuItems(pageable, CountMode.from(count));
         return ResponseEntity.ok(menuItems);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get menu items by cursor", description = "Retrieve menu items with keyset pagination; pass nextCursor back to fetch the next window")
+    public ResponseEntity<CursorPage<MenuItemDTO>> getMenuItemsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "displayOrder,asc") String[] sort) {
+
+        CursorPage<MenuItemDTO> result = menuItemService.getMenuItemsByCursor(cursor, Math.min(Math.max(size, 1), 100), sort);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/menu/{menuId}")
     @Operation(summary = "Get menu items by menu", description = "Retrieve all menu items for a specific menu")
     public ResponseEntity<List<MenuItemDTO>> getMenuItemsByMenu(@PathVariable UUID menuId) {
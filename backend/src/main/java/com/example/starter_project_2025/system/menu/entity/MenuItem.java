@@ -15,7 +15,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items", indexes = {
+        @Index(name = "idx_menu_items_display_order", columnList = "displayOrder, id"),
+        @Index(name = "idx_menu_items_title", columnList = "title, id"),
+        @Index(name = "idx_menu_items_created_at", columnList = "createdAt, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,13 +1,19 @@
 package com.example.starter_project_2025.system.menu.repository;
 
 import com.example.starter_project_2025.system.menu.entity.Menu;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface MenuRepository extends JpaRepository<Menu, UUID> {
@@ -19,4 +25,10 @@ public interface MenuRepository extends JpaRepository<Menu, UUID> {
     List<Menu> findByIsActive(Boolean isActive);
     List<Menu> findAllByOrderByDisplayOrderAsc();
     boolean existsByName(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m.name FROM Menu m")
+    Stream<String> streamNames();
+
+    Slice<Menu> findAllBy(Pageable pageable);
 }
@@ -7,14 +7,25 @@ import com.example.starter_project_2025.exception.BadRequestException;
 import com.example.starter_project_2025.exception.ResourceNotFoundException;
 import com.example.starter_project_2025.system.menu.repository.MenuItemRepository;
 import com.example.starter_project_2025.system.menu.repository.MenuRepository;
+import com.example.starter_project_2025.util.ApproximateCount;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.CursorPage;
+import com.example.starter_project_2025.util.KeysetCursor;
+import com.example.starter_project_2025.util.PageResponse;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,12 +34,34 @@ import java.util.stream.Collectors;
 @Transactional
 public class MenuItemService {
 
+    private static final Map<String, Class<?>> CURSOR_KEYS = Map.of(
+            "displayOrder", Integer.class,
+            "title", String.class,
+            "createdAt", LocalDateTime.class
+    );
+
     private final MenuItemRepository menuItemRepository;
     private final MenuRepository menuRepository;
+    private ApproximateCount approximateMenuItemCount;
+
+    @PostConstruct
+    void init() {
+        approximateMenuItemCount = new ApproximateCount(menuItemRepository::count, ApproximateCount.DEFAULT_MAX_AGE_MS);
+    }
+
+    @PreAuthorize("hasAuthority('MENU_ITEM_READ')")
+    public PageResponse<MenuItemDTO> getAllMenuItems(Pageable pageable, CountMode countMode) {
+        return PageResponse.query(countMode, pageable, menuItemRepository::findAll, menuItemRepository::findAllBy, approximateMenuItemCount)
+                .map(this::convertToDTO);
+    }
 
     @PreAuthorize("hasAuthority('MENU_ITEM_READ')")
-    public Page<MenuItemDTO> getAllMenuItems(Pageable pageable) {
-        return menuItemRepository.findAll(pageable).map(this::convertToDTO);
+    public CursorPage<MenuItemDTO> getMenuItemsByCursor(String cursor, int size, String[] sort) {
+        Sort keysetSort = KeysetCursor.sort(sort, CURSOR_KEYS);
+        ScrollPosition position = KeysetCursor.decode(cursor, keysetSort, CURSOR_KEYS);
+        Window<MenuItem> window = menuItemRepository.findBy(Specification.<MenuItem>where(null),
+                query -> query.sortBy(keysetSort).limit(size).scroll(position));
+        return KeysetCursor.toPage(window, this::convertToDTO);
     }
 
     @PreAuthorize("hasAuthority('MENU_ITEM_READ')")
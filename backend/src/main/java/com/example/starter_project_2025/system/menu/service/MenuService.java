@@ -5,10 +5,16 @@ import com.example.starter_project_2025.system.menu.dto.MenuItemDTO;
 import com.example.starter_project_2025.system.menu.entity.Menu;
 import com.example.starter_project_2025.exception.BadRequestException;
 import com.example.starter_project_2025.exception.ResourceNotFoundException;
+import com.example.starter_project_2025.security.AuthorizationReadModel;
+import com.example.starter_project_2025.security.PermissionSet;
 import com.example.starter_project_2025.system.menu.repository.MenuRepository;
 import com.example.starter_project_2025.system.menu.entity.MenuItem;
+import com.example.starter_project_2025.system.user.service.UniqueKeyFilters;
+import com.example.starter_project_2025.util.ApproximateCount;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.PageResponse;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -24,10 +30,19 @@ import java.util.stream.Collectors;
 public class MenuService {
 
     private final MenuRepository menuRepository;
+    private final UniqueKeyFilters uniqueKeyFilters;
+    private final AuthorizationReadModel authorizationReadModel;
+    private ApproximateCount approximateMenuCount;
+
+    @PostConstruct
+    void init() {
+        approximateMenuCount = new ApproximateCount(menuRepository::count, ApproximateCount.DEFAULT_MAX_AGE_MS);
+    }
 
     @PreAuthorize("hasAuthority('MENU_READ')")
-    public Page<MenuDTO> getAllMenus(Pageable pageable) {
-        return menuRepository.findAll(pageable).map(this::convertToDTO);
+    public PageResponse<MenuDTO> getAllMenus(Pageable pageable, CountMode countMode) {
+        return PageResponse.query(countMode, pageable, menuRepository::findAll, menuRepository::findAllBy, approximateMenuCount)
+                .map(this::convertToDTO);
     }
 
     @PreAuthorize("hasAuthority('MENU_READ')")
@@ -37,10 +52,17 @@ public class MenuService {
                 .collect(Collectors.toList());
     }
 
-    public List<MenuDTO> getActiveMenus() {
-        return menuRepository.findActiveMenusWithItems().stream()
+    /**
+     * Active menus with the items {@code userId} may see: those without a
+     * required permission or whose permission the user currently holds.
+     */
+    public List<MenuDTO> getActiveMenus(UUID userId) {
+        PermissionSet permissions = authorizationReadModel.permissionsOf(userId);
+        List<MenuDTO> menus = menuRepository.findActiveMenusWithItems().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        menus.forEach(menu -> menu.setMenuItems(visibleItems(menu.getMenuItems(), permissions)));
+        return menus;
     }
 
     @PreAuthorize("hasAuthority('MENU_READ')")
@@ -52,7 +74,7 @@ public class MenuService {
 
     @PreAuthorize("hasAuthority('MENU_CREATE')")
     public MenuDTO createMenu(MenuDTO menuDTO) {
-        if (menuRepository.existsByName(menuDTO.getName())) {
+        if (uniqueKeyFilters.menuNames().exists(menuDTO.getName(), menuRepository::existsByName)) {
             throw new BadRequestException("Menu name already exists: " + menuDTO.getName());
         }
 
@@ -62,6 +84,7 @@ public class MenuService {
         menu.setDisplayOrder(menuDTO.getDisplayOrder() != null ? menuDTO.getDisplayOrder() : 0);
         menu.setIsActive(true);
 
+        uniqueKeyFilters.menuNames().add(menu.getName());
         Menu savedMenu = menuRepository.save(menu);
         return convertToDTO(savedMenu);
     }
@@ -72,9 +95,11 @@ public class MenuService {
                 .orElseThrow(() -> new ResourceNotFoundException("Menu", "id", id));
 
         if (menuDTO.getName() != null && !menuDTO.getName().equals(menu.getName())) {
-            if (menuRepository.existsByName(menuDTO.getName())) {
+            if (uniqueKeyFilters.menuNames().exists(menuDTO.getName(), menuRepository::existsByName)) {
                 throw new BadRequestException("Menu name already exists: " + menuDTO.getName());
             }
+            uniqueKeyFilters.menuNames().add(menuDTO.getName());
+            uniqueKeyFilters.menuNames().removed();
             menu.setName(menuDTO.getName());
         }
 
@@ -95,6 +120,7 @@ public class MenuService {
         Menu menu = menuRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu", "id", id));
         menuRepository.delete(menu);
+        uniqueKeyFilters.menuNames().removed();
     }
 
     @PreAuthorize("hasAuthority('MENU_UPDATE')")
@@ -106,6 +132,18 @@ public class MenuService {
         return convertToDTO(updatedMenu);
     }
 
+    private static List<MenuItemDTO> visibleItems(List<MenuItemDTO> items, PermissionSet permissions) {
+        if (items == null) {
+            return null;
+        }
+        List<MenuItemDTO> visible = items.stream()
+                .filter(item -> item.getRequiredPermission() == null || item.getRequiredPermission().isBlank()
+                        || permissions.contains(item.getRequiredPermission()))
+                .collect(Collectors.toList());
+        visible.forEach(item -> item.setChildren(visibleItems(item.getChildren(), permissions)));
+        return visible;
+    }
+
     private MenuDTO convertToDTO(Menu menu) {
         MenuDTO dto = new MenuDTO();
         dto.setId(menu.getId());
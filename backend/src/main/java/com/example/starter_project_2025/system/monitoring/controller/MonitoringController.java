@@ -0,0 +1,42 @@
+package com.example.starter_project_2025.system.monitoring.controller;
+
+import com.example.starter_project_2025.system.monitoring.service.MonitoringService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/monitoring")
+@RequiredArgsConstructor
+@Tag(name = "Monitoring", description = "Runtime counters for caches and security components")
+@SecurityRequirement(name = "Bearer Authentication")
+public class MonitoringController {
+
+    private final MonitoringService monitoringService;
+
+    @GetMapping("/security")
+    @Operation(summary = "Get security metrics", description = "Retrieve hit, miss and eviction counters of the security caches")
+    public ResponseEntity<Map<String, Object>> getSecurityStats() {
+        Map<String, Object> stats = monitoringService.getSecurityStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/unique-keys")
+    @Operation(summary = "Get unique key filter metrics", description = "Retrieve check, lookup and false-positive counters of the unique key filters")
+    public ResponseEntity<Map<String, Object>> getUniqueKeyStats() {
+        return ResponseEntity.ok(monitoringService.getUniqueKeyStats());
+    }
+
+    @GetMapping("/authorization")
+    @Operation(summary = "Get authorization read model metrics", description = "Retrieve user and role counts and memory use of the authorization read model")
+    public ResponseEntity<Map<String, Object>> getAuthorizationModelStats() {
+        return ResponseEntity.ok(monitoringService.getAuthorizationModelStats());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.starter_project_2025.system.monitoring.service;
+
+import com.example.starter_project_2025.security.AuthorizationReadModel;
+import com.example.starter_project_2025.security.JwtUtil;
+import com.example.starter_project_2025.security.LoginExecutor;
+import com.example.starter_project_2025.security.LoginThrottle;
+import com.example.starter_project_2025.security.TokenRevocationStore;
+import com.example.starter_project_2025.security.UserDetailsServiceImpl;
+import com.example.starter_project_2025.system.user.service.UniqueKeyFilters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class MonitoringService {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final JwtUtil jwtUtil;
+    private final LoginExecutor loginExecutor;
+    private final LoginThrottle loginThrottle;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final UniqueKeyFilters uniqueKeyFilters;
+    private final AuthorizationReadModel authorizationReadModel;
+
+    @PreAuthorize("hasAuthority('SYSTEM_MONITOR')")
+    public Map<String, Object> getSecurityStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("userDetailsCache", userDetailsService.getUserCache().getStats());
+        stats.put("jwtVerificationCache", jwtUtil.getVerificationCache().getStats());
+        stats.put("loginExecutor", loginExecutor.getStats());
+        stats.put("loginThrottle", loginThrottle.getStats());
+        stats.put("tokenRevocation", tokenRevocationStore.getStats());
+        return stats;
+    }
+
+    @PreAuthorize("hasAuthority('SYSTEM_MONITOR')")
+    public Map<String, Object> getUniqueKeyStats() {
+        return uniqueKeyFilters.getStats();
+    }
+
+    @PreAuthorize("hasAuthority('SYSTEM_MONITOR')")
+    public Map<String, Object> getAuthorizationModelStats() {
+        return authorizationReadModel.getStats();
+    }
+}
@@ -1,20 +1,35 @@
 package com.example.starter_project_2025.system.user.controller;
 
+import com.example.starter_project_2025.system.user.dto.BulkCreateUsersRequest;
+import com.example.starter_project_2025.system.user.dto.BulkCreateUsersResponse;
 import com.example.starter_project_2025.system.user.dto.CreateUserRequest;
+import com.example.starter_project_2025.system.user.dto.PermissionHoldersDTO;
 import com.example.starter_project_2025.system.user.dto.UserDTO;
+import com.example.starter_project_2025.system.user.dto.UserImportJobDTO;
+import com.example.starter_project_2025.system.user.service.UserBulkService;
+import com.example.starter_project_2025.system.user.service.UserImportService;
 import com.example.starter_project_2025.system.user.service.UserService;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.CsvUtil;
+import com.example.starter_project_2025.util.CursorPage;
+import com.example.starter_project_2025.util.KeysetCursor;
+import com.example.starter_project_2025.util.PageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 import java.util.UUID;
@@ -27,20 +42,58 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserBulkService userBulkService;
+    private final UserImportService userImportService;
 
     @GetMapping
-    @Operation(summary = "Get all users", description = "Retrieve all users with pagination")
-    public ResponseEntity<Page<UserDTO>> getAllUsers(
+    @Operation(summary = "Get all users", description = "Retrieve all users with pagination; count=exact|none|approximate controls the total, "
+            + "q searches email and name and returns results ranked by relevance with an exact total, ignoring sort and count")
+    public ResponseEntity<PageResponse<UserDTO>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt,desc") String[] sort) {
+            @RequestParam(defaultValue = "createdAt,desc") String[] sort,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(required = false) String q) {
 
-        Sort.Direction direction = Sort.Direction.fromString(sort[1]);
+        if (StringUtils.hasText(q)) {
+            return ResponseEntity.ok(userService.searchUsers(q, PageRequest.of(page, size)));
+        }
+        Sort.Direction direction = KeysetCursor.direction(sort);
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort[0]));
-        Page<UserDTO> users = userService.getAllUsers(pageable);
+        PageResponse<UserDTO> users = userService.getAllUsers(pageable, CountMode.from(count));
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get users by cursor", description = "Retrieve users with keyset pagination; pass nextCursor back to fetch the next window")
+    public ResponseEntity<CursorPage<UserDTO>> getUsersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt,desc") String[] sort) {
+
+        CursorPage<UserDTO> result = userService.getUsersByCursor(cursor, Math.min(Math.max(size, 1), 100), sort);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/who-can")
+    @Operation(summary = "Get permission holders", description = "Roles granting a permission and the active users who hold it")
+    public ResponseEntity<PermissionHoldersDTO> getPermissionHolders(
+            @RequestParam String permission,
+            @RequestParam(defaultValue = "20") int limit) {
+        PermissionHoldersDTO holders = userService.getPermissionHolders(permission, Math.min(Math.max(limit, 0), 100));
+        return ResponseEntity.ok(holders);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export users", description = "Stream all users as CSV")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userService.exportUsersCsv();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                .contentType(CsvUtil.CSV_MEDIA_TYPE)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Retrieve a specific user by ID")
     public ResponseEntity<UserDTO> getUserById(@PathVariable UUID id) {
@@ -55,6 +108,27 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create users in bulk", description = "Create many users in one request; returns a result for every row")
+    public ResponseEntity<BulkCreateUsersResponse> createUsers(@Valid @RequestBody BulkCreateUsersRequest request) {
+        BulkCreateUsersResponse response = userBulkService.createUsers(request.getUsers());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import users from CSV", description = "Start a background import of a CSV with Email, Password, First Name, Last Name and Role columns")
+    public ResponseEntity<UserImportJobDTO> importUsers(@RequestParam("file") MultipartFile file) {
+        UserImportJobDTO job = userImportService.startImport(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get import job", description = "Report progress, throughput and rejected rows of a user import")
+    public ResponseEntity<UserImportJobDTO> getImportJob(@PathVariable UUID jobId) {
+        UserImportJobDTO job = userImportService.getJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update user", description = "Update an existing user")
     public ResponseEntity<UserDTO> updateUser(
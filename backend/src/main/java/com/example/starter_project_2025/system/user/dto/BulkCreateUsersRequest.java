@@ -0,0 +1,12 @@
+package com.example.starter_project_2025.system.user.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkCreateUsersRequest {
+    @NotEmpty(message = "At least one user is required")
+    private List<CreateUserRequest> users;
+}
@@ -0,0 +1,16 @@
+package com.example.starter_project_2025.system.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateUsersResponse {
+    private int created;
+    private int failed;
+    private List<BulkUserResult> results;
+}
@@ -0,0 +1,30 @@
+package com.example.starter_project_2025.system.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserResult {
+    private long row;
+    private String email;
+    private Status status;
+    private UUID id;
+    private String error;
+
+    public enum Status {
+        CREATED, INVALID, DUPLICATE, ROLE_NOT_FOUND, FAILED
+    }
+
+    public static BulkUserResult created(long row, String email, UUID id) {
+        return new BulkUserResult(row, email, Status.CREATED, id, null);
+    }
+
+    public static BulkUserResult failed(long row, String email, Status status, String error) {
+        return new BulkUserResult(row, email, status, null, error);
+    }
+}
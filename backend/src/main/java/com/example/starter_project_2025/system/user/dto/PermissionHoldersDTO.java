@@ -0,0 +1,17 @@
+package com.example.starter_project_2025.system.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionHoldersDTO {
+    private String permission;
+    private List<String> roles;
+    private long userCount;
+    private List<UserDTO> users;
+}
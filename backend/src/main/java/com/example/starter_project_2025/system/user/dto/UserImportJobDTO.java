@@ -0,0 +1,29 @@
+package com.example.starter_project_2025.system.user.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class UserImportJobDTO {
+    private UUID id;
+    private String fileName;
+    private Status status;
+    private long totalBytes;
+    private long bytesRead;
+    private double progress;
+    private long rowsProcessed;
+    private long created;
+    private long rejected;
+    private double rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    private List<BulkUserResult> rejectedRows;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
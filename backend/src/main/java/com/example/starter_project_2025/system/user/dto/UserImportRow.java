@@ -0,0 +1,9 @@
+package com.example.starter_project_2025.system.user.dto;
+
+/**
+ * One data record of a user import file; {@code row} is its 1-based position
+ * after the header.
+ */
+public record UserImportRow(long row, String email, String password, String firstName, String lastName,
+                            String role) {
+}
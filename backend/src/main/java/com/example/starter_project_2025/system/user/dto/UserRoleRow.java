@@ -0,0 +1,9 @@
+package com.example.starter_project_2025.system.user.dto;
+
+import java.util.UUID;
+
+/**
+ * A user's role assignment and status, all that authorization needs to know about them.
+ */
+public record UserRoleRow(UUID id, UUID roleId, Boolean isActive) {
+}
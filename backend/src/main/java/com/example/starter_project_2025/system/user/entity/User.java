@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created_at", columnList = "createdAt, id"),
+        @Index(name = "idx_users_first_name", columnList = "firstName, id"),
+        @Index(name = "idx_users_last_name", columnList = "lastName, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,7 +38,7 @@ public class User {
     @Column(nullable = false, length = 100)
     private String lastName;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 
@@ -1,25 +1,68 @@
 package com.example.starter_project_2025.system.user.repository;
 
+import com.example.starter_project_2025.system.user.dto.UserDTO;
+import com.example.starter_project_2025.system.user.dto.UserRoleRow;
 import com.example.starter_project_2025.system.user.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
+    String SELECT_DTO = "SELECT new com.example.starter_project_2025.system.user.dto.UserDTO("
+            + "u.id, u.email, u.firstName, u.lastName, r.id, r.name, u.isActive, u.createdAt, u.updatedAt) "
+            + "FROM User u JOIN u.role r";
+
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamEmails();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.starter_project_2025.system.user.dto.UserRoleRow(u.id, u.role.id, u.isActive) FROM User u")
+    Stream<UserRoleRow> streamRoleAssignments();
+
     List<User> findByIsActive(Boolean isActive);
     Long countByIsActive(Boolean isActive);
 
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.role r LEFT JOIN FETCH r.permissions WHERE u.email = :email")
     Optional<User> findByEmailWithRoleAndPermissions(@Param("email") String email);
 
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     @Query("SELECT u FROM User u WHERE u.role.name = :roleName")
     List<User> findByRoleName(@Param("roleName") String roleName);
+
+    @Query(value = SELECT_DTO, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserDTO> findAllDTO(Pageable pageable);
+
+    @Query(SELECT_DTO)
+    Slice<UserDTO> findSliceDTO(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + " ORDER BY u.createdAt, u.id")
+    Stream<UserDTO> streamAllDTO();
+
+    @Query(SELECT_DTO + " WHERE u.id IN :ids")
+    List<UserDTO> findDTOsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query(SELECT_DTO + " WHERE u.id = :id")
+    Optional<UserDTO> findDTOById(@Param("id") UUID id);
 }
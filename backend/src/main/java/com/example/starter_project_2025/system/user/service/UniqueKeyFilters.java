@@ -0,0 +1,125 @@
+package com.example.starter_project_2025.system.user.service;
+
+import com.example.starter_project_2025.system.auth.repository.PermissionRepository;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.example.starter_project_2025.system.menu.repository.MenuRepository;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
+import com.example.starter_project_2025.util.UniqueKeyFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Membership filters for the unique keys checked on create and rename: user
+ * email and role, permission and menu name. Built from the database once the
+ * application is ready and rebuilt in the background when deletes and renames
+ * have left too many stale keys behind. The unique constraints stay the final
+ * guard against concurrent writers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UniqueKeyFilters {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final MenuRepository menuRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${uniqueness.filter.expected-emails:100000}")
+    private long expectedEmails;
+
+    @Value("${uniqueness.filter.expected-names:1000}")
+    private long expectedNames;
+
+    @Value("${uniqueness.filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private UniqueKeyFilter userEmails;
+    private UniqueKeyFilter roleNames;
+    private UniqueKeyFilter permissionNames;
+    private UniqueKeyFilter menuNames;
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    public void init() {
+        userEmails = new UniqueKeyFilter(expectedEmails, falsePositiveRate);
+        roleNames = new UniqueKeyFilter(expectedNames, falsePositiveRate);
+        permissionNames = new UniqueKeyFilter(expectedNames, falsePositiveRate);
+        menuNames = new UniqueKeyFilter(expectedNames, falsePositiveRate);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        long start = System.nanoTime();
+        rebuild(userEmails, userRepository.count(), userRepository::streamEmails);
+        rebuild(roleNames, roleRepository.count(), roleRepository::streamNames);
+        rebuild(permissionNames, permissionRepository.count(), permissionRepository::streamNames);
+        rebuild(menuNames, menuRepository.count(), menuRepository::streamNames);
+        log.info("Built unique key filters in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${uniqueness.filter.rebuild-check-ms:300000}")
+    public void rebuildStale() {
+        if (userEmails.needsRebuild()) {
+            rebuild(userEmails, userRepository.count(), userRepository::streamEmails);
+        }
+        if (roleNames.needsRebuild()) {
+            rebuild(roleNames, roleRepository.count(), roleRepository::streamNames);
+        }
+        if (permissionNames.needsRebuild()) {
+            rebuild(permissionNames, permissionRepository.count(), permissionRepository::streamNames);
+        }
+        if (menuNames.needsRebuild()) {
+            rebuild(menuNames, menuRepository.count(), menuRepository::streamNames);
+        }
+    }
+
+    public UniqueKeyFilter userEmails() {
+        return userEmails;
+    }
+
+    public UniqueKeyFilter roleNames() {
+        return roleNames;
+    }
+
+    public UniqueKeyFilter permissionNames() {
+        return permissionNames;
+    }
+
+    public UniqueKeyFilter menuNames() {
+        return menuNames;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("userEmails", userEmails.getStats());
+        stats.put("roleNames", roleNames.getStats());
+        stats.put("permissionNames", permissionNames.getStats());
+        stats.put("menuNames", menuNames.getStats());
+        return stats;
+    }
+
+    private void rebuild(UniqueKeyFilter filter, long keyCount, Supplier<Stream<String>> keys) {
+        filter.rebuild(keyCount, sink -> readTransaction.executeWithoutResult(status -> {
+            try (Stream<String> stream = keys.get()) {
+                stream.forEach(sink);
+            }
+        }));
+    }
+}
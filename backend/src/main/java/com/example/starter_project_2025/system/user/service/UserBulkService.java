@@ -0,0 +1,270 @@
+package com.example.starter_project_2025.system.user.service;
+
+import com.example.starter_project_2025.exception.BadRequestException;
+import com.example.starter_project_2025.exception.ResourceNotFoundException;
+import com.example.starter_project_2025.security.AuthorizationReadModel;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.example.starter_project_2025.system.user.dto.BulkCreateUsersResponse;
+import com.example.starter_project_2025.system.user.dto.BulkUserResult;
+import com.example.starter_project_2025.system.user.dto.CreateUserRequest;
+import com.example.starter_project_2025.system.user.dto.UserDTO;
+import com.example.starter_project_2025.system.user.entity.User;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many users in one call. Validation, email conflicts and role lookups
+ * are resolved for the whole batch up front with set-based queries, passwords
+ * are hashed on a dedicated pool, and rows are inserted in chunks, each in its
+ * own transaction so one bad chunk does not roll back the rest.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserBulkService {
+
+    private static final int IN_CLAUSE_SIZE = 1_000;
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final UserSearchIndex userSearchIndex;
+    private final AuthorizationReadModel authorizationReadModel;
+    private final UniqueKeyFilters uniqueKeyFilters;
+
+    @Value("${users.bulk.max-rows:5000}")
+    private int maxRows;
+
+    @Value("${users.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${users.bulk.hash-threads:0}")
+    private int hashThreads;
+
+    private ThreadPoolExecutor hashExecutor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        // When the queue is full the submitting request hashes on its own thread
+        hashExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxRows)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    @PreAuthorize("hasAuthority('USER_CREATE')")
+    public BulkCreateUsersResponse createUsers(List<CreateUserRequest> rows) {
+        if (rows.size() > maxRows) {
+            throw new BadRequestException("At most " + maxRows + " users can be created per request");
+        }
+        BulkUserResult[] results = new BulkUserResult[rows.size()];
+        createRows(rows, 0, results);
+
+        List<BulkUserResult> resultList = Arrays.asList(results);
+        int created = (int) resultList.stream().filter(r -> r.getStatus() == BulkUserResult.Status.CREATED).count();
+        return new BulkCreateUsersResponse(created, results.length - created, resultList);
+    }
+
+    /**
+     * Processes {@code rows} and writes one result per row into {@code results};
+     * row numbers in the results start at {@code firstRow}.
+     */
+    void createRows(List<CreateUserRequest> rows, int firstRow, BulkUserResult[] results) {
+        for (int i = 0; i < rows.size(); i++) {
+            results[i] = validate(rows.get(i), firstRow + i);
+        }
+        writeRows(rows, firstRow, results);
+    }
+
+    /**
+     * Bean-validates one row and returns its {@code INVALID} result, or {@code null}
+     * when the row is valid. Has no side effects, so it can run on any thread.
+     */
+    BulkUserResult validate(CreateUserRequest row, long rowNumber) {
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        String error = violations.stream().map(ConstraintViolation::getMessage).sorted()
+                .collect(Collectors.joining("; "));
+        return BulkUserResult.failed(rowNumber, row.getEmail(), BulkUserResult.Status.INVALID, error);
+    }
+
+    /**
+     * Inserts the rows whose result is still {@code null}, i.e. rows that passed
+     * {@link #validate}, and fills in their results. Rows that already carry a
+     * result are skipped.
+     */
+    void writeRows(List<CreateUserRequest> rows, int firstRow, BulkUserResult[] results) {
+        List<Integer> accepted = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            CreateUserRequest row = rows.get(i);
+            if (!seenEmails.add(row.getEmail())) {
+                results[i] = duplicate(firstRow + i, row.getEmail());
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        Set<String> existing = findExistingEmails(seenEmails);
+        Set<UUID> roleIds = accepted.stream().map(i -> rows.get(i).getRoleId()).collect(Collectors.toSet());
+        Map<UUID, Role> roles = roleRepository.findAllById(roleIds).stream()
+                .collect(Collectors.toMap(Role::getId, role -> role));
+
+        List<Integer> insertable = new ArrayList<>();
+        for (int i : accepted) {
+            CreateUserRequest row = rows.get(i);
+            if (existing.contains(row.getEmail())) {
+                results[i] = duplicate(firstRow + i, row.getEmail());
+            } else if (!roles.containsKey(row.getRoleId())) {
+                results[i] = BulkUserResult.failed(firstRow + i, row.getEmail(), BulkUserResult.Status.ROLE_NOT_FOUND,
+                        new ResourceNotFoundException("Role", "id", row.getRoleId()).getMessage());
+            } else {
+                insertable.add(i);
+            }
+        }
+
+        Map<Integer, Future<String>> hashes = new HashMap<>();
+        for (int i : insertable) {
+            String password = rows.get(i).getPassword();
+            hashes.put(i, hashExecutor.submit(() -> passwordEncoder.encode(password)));
+        }
+
+        for (int from = 0; from < insertable.size(); from += chunkSize) {
+            Map<Integer, String> chunk = new LinkedHashMap<>();
+            for (int i : insertable.subList(from, Math.min(from + chunkSize, insertable.size()))) {
+                chunk.put(i, awaitHash(hashes.get(i)));
+            }
+            insertChunk(chunk, rows, firstRow, roles, results);
+        }
+    }
+
+    private void insertChunk(Map<Integer, String> passwordHashes, List<CreateUserRequest> rows, int firstRow,
+                             Map<UUID, Role> roles, BulkUserResult[] results) {
+        passwordHashes.keySet().forEach(i -> uniqueKeyFilters.userEmails().add(rows.get(i).getEmail()));
+        List<User> saved;
+        try {
+            saved = transactionTemplate.execute(status -> userRepository.saveAll(passwordHashes.entrySet().stream()
+                    .map(entry -> toUser(rows.get(entry.getKey()), entry.getValue()))
+                    .toList()));
+        } catch (DataAccessException ex) {
+            // A concurrent insert took one of the emails; retry row by row to isolate it
+            log.debug("Bulk chunk insert failed, retrying {} rows individually", passwordHashes.size(), ex);
+            passwordHashes.forEach((i, hash) -> insertOne(i, hash, rows, firstRow, roles, results));
+            return;
+        }
+        int k = 0;
+        for (int i : passwordHashes.keySet()) {
+            recordCreated(i, saved.get(k++), rows, firstRow, roles, results);
+        }
+    }
+
+    private void insertOne(int i, String passwordHash, List<CreateUserRequest> rows, int firstRow,
+                           Map<UUID, Role> roles, BulkUserResult[] results) {
+        CreateUserRequest row = rows.get(i);
+        try {
+            User saved = transactionTemplate.execute(status -> userRepository.save(toUser(row, passwordHash)));
+            recordCreated(i, saved, rows, firstRow, roles, results);
+        } catch (DataAccessException ex) {
+            results[i] = userRepository.existsByEmail(row.getEmail())
+                    ? duplicate(firstRow + i, row.getEmail())
+                    : BulkUserResult.failed(firstRow + i, row.getEmail(), BulkUserResult.Status.FAILED, "Could not create user");
+        }
+    }
+
+    private void recordCreated(int i, User user, List<CreateUserRequest> rows, int firstRow,
+                               Map<UUID, Role> roles, BulkUserResult[] results) {
+        Role role = roles.get(rows.get(i).getRoleId());
+        results[i] = BulkUserResult.created(firstRow + i, user.getEmail(), user.getId());
+        authorizationReadModel.userSaved(user.getId(), role.getId(), Boolean.TRUE.equals(user.getIsActive()));
+        userSearchIndex.index(new UserDTO(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                role.getId(), role.getName(), user.getIsActive(), user.getCreatedAt(), user.getUpdatedAt()));
+    }
+
+    private Set<String> findExistingEmails(Set<String> emails) {
+        // Only emails the filter cannot rule out reach the database
+        return uniqueKeyFilters.userEmails().existing(emails, candidates -> {
+            Set<String> existing = new HashSet<>();
+            List<String> all = new ArrayList<>(candidates);
+            for (int from = 0; from < all.size(); from += IN_CLAUSE_SIZE) {
+                existing.addAll(userRepository.findExistingEmails(all.subList(from, Math.min(from + IN_CLAUSE_SIZE, all.size()))));
+            }
+            return existing;
+        });
+    }
+
+    private User toUser(CreateUserRequest row, String passwordHash) {
+        User user = new User();
+        user.setEmail(row.getEmail());
+        user.setPasswordHash(passwordHash);
+        user.setFirstName(row.getFirstName());
+        user.setLastName(row.getLastName());
+        user.setRole(roleRepository.getReferenceById(row.getRoleId()));
+        user.setIsActive(true);
+        return user;
+    }
+
+    private static String awaitHash(Future<String> hash) {
+        try {
+            return hash.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static BulkUserResult duplicate(long row, String email) {
+        return BulkUserResult.failed(row, email, BulkUserResult.Status.DUPLICATE, "Email already exists: " + email);
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.starter_project_2025.system.user.service;
+
+import com.example.starter_project_2025.exception.BadRequestException;
+import com.example.starter_project_2025.exception.ResourceNotFoundException;
+import com.example.starter_project_2025.exception.TooManyRequestsException;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.example.starter_project_2025.system.user.dto.BulkUserResult;
+import com.example.starter_project_2025.system.user.dto.CreateUserRequest;
+import com.example.starter_project_2025.system.user.dto.UserImportJobDTO;
+import com.example.starter_project_2025.util.CsvUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Runs CSV user imports in the background. The upload is copied to a temp file
+ * and cut at record boundaries into pieces of about {@code users.import.split-bytes}.
+ * Pieces are parsed, mapped and validated in parallel on a fork-join pool, while
+ * the job thread writes them through {@link UserBulkService} strictly in file
+ * order, so results and row numbers do not depend on how the file was cut.
+ * Only a bounded window of parsed pieces is held in memory at a time. Progress
+ * is tracked per job and kept for a while after it ends.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private final CsvUtil csvUtil;
+    private final UserBulkService userBulkService;
+    private final RoleRepository roleRepository;
+
+    @Value("${users.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${users.import.split-bytes:1048576}")
+    private long splitBytes;
+
+    @Value("${users.import.threads:1}")
+    private int threads;
+
+    @Value("${users.import.parse-threads:0}")
+    private int parseThreads;
+
+    @Value("${users.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${users.import.max-rejected-rows:100}")
+    private int maxRejectedRows;
+
+    @Value("${users.import.retention-ms:3600000}")
+    private long retentionMs;
+
+    @Value("${users.import.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private ForkJoinPool parsePool;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        int poolSize = Math.max(1, threads);
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        parsePool = new ForkJoinPool(parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("user-import-parse-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        parsePool.shutdownNow();
+    }
+
+    @PreAuthorize("hasAuthority('USER_CREATE')")
+    public UserImportJobDTO startImport(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("user-import-", ".csv");
+            file.transferTo(tempFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not store import file", ex);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID(), file.getOriginalFilename(), file.getSize());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, tempFile));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.id);
+            deleteQuietly(tempFile);
+            throw new TooManyRequestsException("Too many user imports in progress", retryAfterSeconds);
+        }
+        return job.toDTO();
+    }
+
+    @PreAuthorize("hasAuthority('USER_CREATE')")
+    public UserImportJobDTO getJob(UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job", "id", jobId);
+        }
+        return job.toDTO();
+    }
+
+    @Scheduled(fixedDelayString = "${users.import.retention-ms:3600000}")
+    public void purgeFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        jobs.values().removeIf(job -> job.finishedAtMillis != 0 && job.finishedAtMillis < cutoff);
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.start();
+        RoleNames roles = RoleNames.of(roleRepository.findAll());
+        Deque<ForkJoinTask<ParsedPiece>> pending = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = csvUtil.splitUserImport(file, splitBytes);
+            int[] columns = csvUtil.readUserImportHeader(new ByteArrayInputStream(read(channel, 0, bounds[1])));
+            job.bytesRead.set(bounds[1]);
+
+            // Parse ahead of the writer, but only a few pieces so memory stays bounded
+            int window = 2 * parsePool.getParallelism();
+            int next = 1;
+            long rowsBefore = 0;
+            while (next < bounds.length - 1 || !pending.isEmpty()) {
+                while (next < bounds.length - 1 && pending.size() < window) {
+                    long start = bounds[next];
+                    long end = bounds[++next];
+                    pending.add(parsePool.submit(() -> parse(channel, start, end, columns, roles)));
+                }
+                ParsedPiece piece = pending.poll().join();
+                write(job, piece, rowsBefore);
+                rowsBefore += piece.rows().size();
+                job.bytesRead.set(piece.end());
+            }
+            job.finish(null);
+            log.info("User import {} finished: {} rows, {} created, {} rejected",
+                    job.id, job.rowsProcessed.get(), job.created.get(), job.rejected.get());
+        } catch (Exception ex) {
+            pending.forEach(task -> task.cancel(true));
+            log.warn("User import {} failed after {} rows", job.id, job.rowsProcessed.get(), ex);
+            job.finish(ex.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Runs on the parse pool: reads one piece of the file, maps role names and
+     * bean-validates every row. Rows that fail get their result here; row
+     * numbers are relative to the piece until {@link #write} shifts them.
+     */
+    private ParsedPiece parse(FileChannel channel, long start, long end, int[] columns, RoleNames roles) {
+        List<CreateUserRequest> rows = new ArrayList<>();
+        List<BulkUserResult> results = new ArrayList<>();
+        try {
+            csvUtil.readUserImportRows(new ByteArrayInputStream(read(channel, start, end)), columns, row -> {
+                CreateUserRequest request = new CreateUserRequest();
+                request.setEmail(row.email());
+                request.setPassword(row.password());
+                request.setFirstName(row.firstName());
+                request.setLastName(row.lastName());
+                UUID roleId = roles.find(row.role());
+                request.setRoleId(roleId);
+                rows.add(request);
+                results.add(roleId == null && !row.role().isEmpty()
+                        ? BulkUserResult.failed(row.row(), row.email(), BulkUserResult.Status.ROLE_NOT_FOUND,
+                                new ResourceNotFoundException("Role", "name", row.role()).getMessage())
+                        : userBulkService.validate(request, row.row()));
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex.getMessage(), ex);
+        }
+        return new ParsedPiece(end, rows, results.toArray(new BulkUserResult[0]));
+    }
+
+    /**
+     * Runs on the job thread, one piece after another in file order, so a row
+     * only ever conflicts with rows that come before it, as in a sequential import.
+     */
+    private void write(ImportJob job, ParsedPiece piece, long rowsBefore) {
+        List<CreateUserRequest> rows = piece.rows();
+        BulkUserResult[] results = piece.results();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, rows.size());
+            BulkUserResult[] chunk = Arrays.copyOfRange(results, from, to);
+            userBulkService.writeRows(rows.subList(from, to), 0, chunk);
+            System.arraycopy(chunk, 0, results, from, chunk.length);
+        }
+        for (int i = 0; i < results.length; i++) {
+            job.rowsProcessed.incrementAndGet();
+            if (results[i].getStatus() == BulkUserResult.Status.CREATED) {
+                job.created.incrementAndGet();
+            } else {
+                results[i].setRow(rowsBefore + i + 1);
+                job.reject(results[i], maxRejectedRows);
+            }
+        }
+    }
+
+    private static byte[] read(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("Import file ended early");
+            }
+        }
+        return buffer.array();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete import file {}", file, ex);
+        }
+    }
+
+    private record ParsedPiece(long end, List<CreateUserRequest> rows, BulkUserResult[] results) {
+    }
+
+    /**
+     * Role names are unique only case-sensitively, so an exact match wins and a
+     * case-insensitive one counts only when a single role has that name.
+     */
+    private record RoleNames(Map<String, UUID> exact, Map<String, UUID> folded) {
+
+        static RoleNames of(List<Role> roles) {
+            Map<String, UUID> exact = roles.stream().collect(Collectors.toMap(Role::getName, Role::getId));
+            Map<String, UUID> folded = roles.stream()
+                    .collect(Collectors.groupingBy(role -> role.getName().toLowerCase(Locale.ROOT))).entrySet().stream()
+                    .filter(entry -> entry.getValue().size() == 1)
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get(0).getId()));
+            return new RoleNames(exact, folded);
+        }
+
+        UUID find(String name) {
+            UUID id = exact.get(name);
+            return id != null ? id : folded.get(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static final class ImportJob {
+        private final UUID id;
+        private final String fileName;
+        private final long totalBytes;
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicLong rowsProcessed = new AtomicLong();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final Queue<BulkUserResult> rejectedRows = new ConcurrentLinkedQueue<>();
+        private volatile UserImportJobDTO.Status status = UserImportJobDTO.Status.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long startedAtNanos;
+        private volatile long finishedAtNanos;
+        private volatile long finishedAtMillis;
+        private volatile String error;
+
+        ImportJob(UUID id, String fileName, long totalBytes) {
+            this.id = id;
+            this.fileName = fileName;
+            this.totalBytes = totalBytes;
+        }
+
+        void start() {
+            startedAtNanos = System.nanoTime();
+            startedAt = LocalDateTime.now();
+            status = UserImportJobDTO.Status.RUNNING;
+        }
+
+        void reject(BulkUserResult result, int maxSamples) {
+            if (rejected.incrementAndGet() <= maxSamples) {
+                rejectedRows.add(result);
+            }
+        }
+
+        void finish(String failure) {
+            finishedAtNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            finishedAtMillis = System.currentTimeMillis();
+            error = failure;
+            status = failure == null ? UserImportJobDTO.Status.COMPLETED : UserImportJobDTO.Status.FAILED;
+        }
+
+        UserImportJobDTO toDTO() {
+            UserImportJobDTO dto = new UserImportJobDTO();
+            dto.setId(id);
+            dto.setFileName(fileName);
+            dto.setStatus(status);
+            dto.setTotalBytes(totalBytes);
+            dto.setBytesRead(bytesRead.get());
+            double progress = totalBytes == 0 ? 0.0 : Math.min(100.0, bytesRead.get() * 100.0 / totalBytes);
+            dto.setProgress(status == UserImportJobDTO.Status.COMPLETED ? 100.0 : progress);
+            dto.setRowsProcessed(rowsProcessed.get());
+            dto.setCreated(created.get());
+            dto.setRejected(rejected.get());
+            if (startedAtNanos != 0) {
+                long end = finishedAtNanos != 0 ? finishedAtNanos : System.nanoTime();
+                double seconds = Math.max(end - startedAtNanos, 1) / 1e9;
+                dto.setRowsPerSecond(rowsProcessed.get() / seconds);
+            }
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setError(error);
+            dto.setRejectedRows(List.copyOf(rejectedRows));
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.starter_project_2025.system.user.service;
+
+import com.example.starter_project_2025.system.user.dto.UserDTO;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
+import com.example.starter_project_2025.util.NgramIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Search index over user email, first name and last name. Rebuilt from the
+ * database at startup and kept in sync by {@link UserService}; changes made
+ * inside a transaction are applied only once it commits.
+ * <p>
+ * A rebuild streams the table into a fresh index and swaps it in when done, so
+ * searches keep answering from the previous one meanwhile. Changes committed
+ * during the rebuild are applied to both, and the rebuild skips the streamed row
+ * of any user changed that way, since it may predate the change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Guards the swap and building/changedDuringBuild, so no change falls between the two indexes
+    private final Object buildLock = new Object();
+    private volatile NgramIndex<UUID> index = new NgramIndex<>();
+    private NgramIndex<UUID> building;
+    private Set<UUID> changedDuringBuild;
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    public void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        NgramIndex<UUID> fresh = new NgramIndex<>();
+        Set<UUID> changed = new HashSet<>();
+        synchronized (buildLock) {
+            building = fresh;
+            changedDuringBuild = changed;
+        }
+        boolean loaded = false;
+        try {
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<UserDTO> rows = userRepository.streamAllDTO()) {
+                    rows.forEach(user -> {
+                        synchronized (buildLock) {
+                            if (!changed.contains(user.getId())) {
+                                put(fresh, user);
+                            }
+                        }
+                    });
+                }
+            });
+            loaded = true;
+        } finally {
+            synchronized (buildLock) {
+                if (loaded) {
+                    index = fresh;
+                }
+                building = null;
+                changedDuringBuild = null;
+            }
+        }
+        log.info("Indexed {} users for search in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void index(UserDTO user) {
+        afterCommit(() -> apply(user.getId(), target -> put(target, user)));
+    }
+
+    public void remove(UUID userId) {
+        afterCommit(() -> apply(userId, target -> target.remove(userId)));
+    }
+
+    public NgramIndex.Result<UUID> search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void apply(UUID userId, Consumer<NgramIndex<UUID>> change) {
+        synchronized (buildLock) {
+            change.accept(index);
+            if (building != null) {
+                changedDuringBuild.add(userId);
+                change.accept(building);
+            }
+        }
+    }
+
+    private static void put(NgramIndex<UUID> target, UserDTO user) {
+        target.put(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,47 +1,145 @@
 package com.example.starter_project_2025.system.user.service;
 
 import com.example.starter_project_2025.system.user.dto.CreateUserRequest;
+import com.example.starter_project_2025.system.user.dto.PermissionHoldersDTO;
 import com.example.starter_project_2025.system.user.dto.UserDTO;
 import com.example.starter_project_2025.system.auth.entity.Role;
 import com.example.starter_project_2025.system.user.entity.User;
 import com.example.starter_project_2025.exception.BadRequestException;
 import com.example.starter_project_2025.exception.ResourceNotFoundException;
+import com.example.starter_project_2025.security.AuthorizationReadModel;
 import com.example.starter_project_2025.system.auth.repository.RoleRepository;
 import com.example.starter_project_2025.system.user.repository.UserRepository;
+import com.example.starter_project_2025.security.event.UserSecurityChangedEvent;
+import com.example.starter_project_2025.util.ApproximateCount;
+import com.example.starter_project_2025.util.CountMode;
+import com.example.starter_project_2025.util.CsvUtil;
+import com.example.starter_project_2025.util.CursorPage;
+import com.example.starter_project_2025.util.KeysetCursor;
+import com.example.starter_project_2025.util.NgramIndex;
+import com.example.starter_project_2025.util.PageResponse;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserService {
 
+    private static final Map<String, Class<?>> CURSOR_KEYS = Map.of(
+            "createdAt", LocalDateTime.class,
+            "email", String.class,
+            "firstName", String.class,
+            "lastName", String.class
+    );
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserSearchIndex userSearchIndex;
+    private final AuthorizationReadModel authorizationReadModel;
+    private final UniqueKeyFilters uniqueKeyFilters;
+    private final CsvUtil csvUtil;
+    private final PlatformTransactionManager transactionManager;
+    private ApproximateCount approximateUserCount;
+    private TransactionTemplate exportTransaction;
+
+    @PostConstruct
+    void init() {
+        approximateUserCount = new ApproximateCount(userRepository::count, ApproximateCount.DEFAULT_MAX_AGE_MS);
+        exportTransaction = new TransactionTemplate(transactionManager);
+        exportTransaction.setReadOnly(true);
+    }
+
+    @PreAuthorize("hasAuthority('USER_READ')")
+    public PageResponse<UserDTO> getAllUsers(Pageable pageable, CountMode countMode) {
+        return PageResponse.query(countMode, pageable, userRepository::findAllDTO, userRepository::findSliceDTO,
+                approximateUserCount);
+    }
+
+    /**
+     * Results are ordered by relevance and the total is always exact, so the
+     * pageable's sort is ignored and there is no count mode.
+     */
+    @PreAuthorize("hasAuthority('USER_READ')")
+    public PageResponse<UserDTO> searchUsers(String query, Pageable pageable) {
+        NgramIndex.Result<UUID> result = userSearchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        if (result.keys().isEmpty()) {
+            return PageResponse.of(new PageImpl<>(List.of(), pageable, result.total()));
+        }
+        Map<UUID, UserDTO> users = userRepository.findDTOsByIdIn(result.keys()).stream()
+                .collect(Collectors.toMap(UserDTO::getId, Function.identity()));
+        List<UserDTO> content = result.keys().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return PageResponse.of(new PageImpl<>(content, pageable, result.total()));
+    }
+
+    /**
+     * Active users holding {@code permission} through their role, directly or
+     * inherited, answered from the authorization read model; only the first
+     * {@code limit} users are loaded.
+     */
+    @PreAuthorize("hasAuthority('USER_READ')")
+    public PermissionHoldersDTO getPermissionHolders(String permission, int limit) {
+        AuthorizationReadModel.Holders holders = authorizationReadModel.whoCan(permission, limit);
+        List<UserDTO> users = holders.userIds().isEmpty() ? List.of() : userRepository.findDTOsByIdIn(holders.userIds());
+        return new PermissionHoldersDTO(permission, holders.roles(), holders.userCount(), users);
+    }
 
     @PreAuthorize("hasAuthority('USER_READ')")
-    public Page<UserDTO> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable).map(this::convertToDTO);
+    public CursorPage<UserDTO> getUsersByCursor(String cursor, int size, String[] sort) {
+        Sort keysetSort = KeysetCursor.sort(sort, CURSOR_KEYS);
+        ScrollPosition position = KeysetCursor.decode(cursor, keysetSort, CURSOR_KEYS);
+        Window<User> window = userRepository.findBy(fetchRole(),
+                query -> query.sortBy(keysetSort).limit(size).scroll(position));
+        return KeysetCursor.toPage(window, this::convertToDTO);
     }
 
     @PreAuthorize("hasAuthority('USER_READ')")
     public UserDTO getUserById(UUID id) {
-        User user = userRepository.findById(id)
+        return userRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        return convertToDTO(user);
+    }
+
+    @PreAuthorize("hasAuthority('USER_READ')")
+    public StreamingResponseBody exportUsersCsv() {
+        // Authorization happens here; the body runs later on an async thread with its own read-only transaction
+        return outputStream -> exportTransaction.executeWithoutResult(status -> {
+            try (Stream<UserDTO> rows = userRepository.streamAllDTO()) {
+                csvUtil.writeUsersCsv(rows, outputStream);
+            }
+        });
     }
 
     @PreAuthorize("hasAuthority('USER_CREATE')")
     public UserDTO createUser(CreateUserRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (uniqueKeyFilters.userEmails().exists(request.getEmail(), userRepository::existsByEmail)) {
             throw new BadRequestException("Email already exists: " + request.getEmail());
         }
 
@@ -56,19 +154,26 @@ public class UserService {
         user.setRole(role);
         user.setIsActive(true);
 
+        uniqueKeyFilters.userEmails().add(user.getEmail());
         User savedUser = userRepository.save(user);
-        return convertToDTO(savedUser);
+        UserDTO created = convertToDTO(savedUser);
+        userSearchIndex.index(created);
+        authorizationReadModel.userSaved(savedUser);
+        return created;
     }
 
     @PreAuthorize("hasAuthority('USER_UPDATE')")
     public UserDTO updateUser(UUID id, UserDTO userDTO) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail()));
 
         if (userDTO.getEmail() != null && !userDTO.getEmail().equals(user.getEmail())) {
-            if (userRepository.existsByEmail(userDTO.getEmail())) {
+            if (uniqueKeyFilters.userEmails().exists(userDTO.getEmail(), userRepository::existsByEmail)) {
                 throw new BadRequestException("Email already exists: " + userDTO.getEmail());
             }
+            uniqueKeyFilters.userEmails().add(userDTO.getEmail());
+            uniqueKeyFilters.userEmails().removed();
             user.setEmail(userDTO.getEmail());
         }
 
@@ -87,7 +192,10 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
-        return convertToDTO(updatedUser);
+        UserDTO updated = convertToDTO(updatedUser);
+        userSearchIndex.index(updated);
+        authorizationReadModel.userSaved(updatedUser);
+        return updated;
     }
 
     @PreAuthorize("hasAuthority('USER_DELETE')")
@@ -95,6 +203,10 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         userRepository.delete(user);
+        uniqueKeyFilters.userEmails().removed();
+        userSearchIndex.remove(user.getId());
+        authorizationReadModel.userRemoved(user.getId());
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail()));
     }
 
     @PreAuthorize("hasAuthority('USER_ACTIVATE')")
@@ -103,6 +215,8 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setIsActive(!user.getIsActive());
         User updatedUser = userRepository.save(user);
+        authorizationReadModel.userSaved(updatedUser);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail()));
         return convertToDTO(updatedUser);
     }
 
@@ -115,9 +229,20 @@ public class UserService {
 
         user.setRole(role);
         User updatedUser = userRepository.save(user);
+        authorizationReadModel.userSaved(updatedUser);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail()));
         return convertToDTO(updatedUser);
     }
 
+    private static Specification<User> fetchRole() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class) {
+                root.fetch("role");
+            }
+            return null;
+        };
+    }
+
     private UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
@@ -0,0 +1,56 @@
+package com.example.starter_project_2025.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Cached row count that is served stale and refreshed in the background once it
+ * is older than its maximum age. Only the very first read waits for the count query.
+ */
+public class ApproximateCount {
+
+    public static final long DEFAULT_MAX_AGE_MS = 30_000;
+
+    private static final ExecutorService REFRESHER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "approximate-count");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongSupplier counter;
+    private final long maxAgeMs;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long value = -1;
+    private volatile long refreshedAt;
+
+    public ApproximateCount(LongSupplier counter, long maxAgeMs) {
+        this.counter = counter;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    public long get() {
+        if (value < 0) {
+            synchronized (this) {
+                if (value < 0) {
+                    refresh();
+                }
+            }
+        } else if (System.currentTimeMillis() - refreshedAt > maxAgeMs && refreshing.compareAndSet(false, true)) {
+            REFRESHER.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return value;
+    }
+
+    private void refresh() {
+        value = counter.getAsLong();
+        refreshedAt = System.currentTimeMillis();
+    }
+}
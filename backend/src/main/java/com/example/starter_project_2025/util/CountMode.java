@@ -0,0 +1,23 @@
+package com.example.starter_project_2025.util;
+
+import com.example.starter_project_2025.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * How a paged listing computes its total: {@code EXACT} runs a count query,
+ * {@code NONE} skips it, {@code APPROXIMATE} serves a periodically refreshed count.
+ */
+public enum CountMode {
+    EXACT,
+    NONE,
+    APPROXIMATE;
+
+    public static CountMode from(String value) {
+        try {
+            return value == null ? EXACT : valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid count mode: " + value + " (expected exact, none or approximate)");
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.example.starter_project_2025.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streaming RFC 4180 reader. Input is consumed through a fixed char buffer by a
+ * small state machine, so quoted fields may contain separators, doubled quotes
+ * and line breaks. The current record is held in one reusable char array with
+ * field end offsets; nothing is allocated per record, and a field only becomes
+ * a {@code String} when {@link #get} is called.
+ * <p>
+ * Records end at LF, CR or CRLF. Blank lines and a leading byte order mark are
+ * skipped. A quote that appears inside an unquoted field is kept literally.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final char DEFAULT_SEPARATOR = ',';
+
+    private static final int END_OF_INPUT = -1;
+    private static final int BLANK_LINE = 0;
+    private static final int RECORD = 1;
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final Reader reader;
+    private final char separator;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+    private boolean started;
+
+    private char[] data = new char[256];
+    private int length;
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+    private long recordNumber;
+
+    public CsvReader(Reader reader) {
+        this(reader, DEFAULT_SEPARATOR, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvReader(Reader reader, char separator) {
+        this(reader, separator, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvReader(Reader reader, char separator, int bufferSize) {
+        this.reader = reader;
+        this.separator = separator;
+        this.buffer = new char[Math.max(16, bufferSize)];
+    }
+
+    /**
+     * Advances to the next record. Returns {@code false} at end of input.
+     *
+     * @throws IOException if reading fails or the input ends inside a quoted field
+     */
+    public boolean next() throws IOException {
+        int result;
+        do {
+            result = readRecord();
+        } while (result == BLANK_LINE);
+        if (result == RECORD) {
+            recordNumber++;
+        }
+        return result == RECORD;
+    }
+
+    public int size() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns field {@code index} of the current record, or an empty string when
+     * the record has fewer fields.
+     */
+    public String get(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return "";
+        }
+        int start = index == 0 ? 0 : fieldEnds[index - 1];
+        return new String(data, start, fieldEnds[index] - start);
+    }
+
+    /**
+     * 1-based number of the current record, counting the header if one was read.
+     */
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Finds byte offsets in a UTF-8 or ASCII file at which it can be cut into
+     * independently parseable pieces. The file is scanned once with the same
+     * state machine as {@link #next}, so a cut never falls inside a quoted field.
+     * <p>
+     * The result starts with {@code 0}, then the end of the first record (the
+     * header), then record ends at least {@code chunkBytes} apart, and always ends
+     * with the file size.
+     */
+    public static long[] splitRecords(Path file, long chunkBytes) throws IOException {
+        return splitRecords(file, DEFAULT_SEPARATOR, chunkBytes);
+    }
+
+    /**
+     * Like {@link #splitRecords(Path, long)} for a file read with {@code separator},
+     * which has to be an ASCII character since the scan works on bytes.
+     */
+    public static long[] splitRecords(Path file, char separator, long chunkBytes) throws IOException {
+        if (separator > 0x7F) {
+            throw new IllegalArgumentException("Separator must be an ASCII character: " + separator);
+        }
+        long[] bounds = new long[16];
+        int count = 1;
+        long nextCut = -1;
+        int state = FIELD_START;
+        boolean consumed = false;
+        boolean pendingCarriageReturn = false;
+        long offset = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            byte[] bytes = new byte[DEFAULT_BUFFER_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int read;
+            while ((read = channel.read(buffer.clear())) >= 0) {
+                int i = offset == 0 && hasByteOrderMark(bytes, read) ? 3 : 0;
+                for (; i < read; i++) {
+                    byte b = bytes[i];
+                    if (pendingCarriageReturn) {
+                        pendingCarriageReturn = false;
+                        if (b == '\n') {
+                            continue;
+                        }
+                    }
+
+                    boolean recordEnd = false;
+                    if (state == QUOTED) {
+                        if (b == '"') {
+                            state = QUOTE_IN_QUOTED;
+                        }
+                    } else if (b == '\n' || b == '\r') {
+                        recordEnd = consumed || state != FIELD_START;
+                        pendingCarriageReturn = b == '\r';
+                        state = FIELD_START;
+                    } else if (b == separator) {
+                        state = FIELD_START;
+                    } else if (b == '"' && state != UNQUOTED) {
+                        state = QUOTED;
+                    } else {
+                        state = UNQUOTED;
+                    }
+                    consumed = !recordEnd && (consumed || b != '\n' && b != '\r');
+
+                    long end = offset + i + 1;
+                    if (recordEnd && end >= nextCut) {
+                        // Include the LF of a CRLF in the piece it terminates
+                        boolean lineFeed = pendingCarriageReturn
+                                && (i + 1 < read ? bytes[i + 1] == '\n' : peekLineFeed(channel, offset + read));
+                        long cut = lineFeed ? end + 1 : end;
+                        if (count == bounds.length) {
+                            bounds = Arrays.copyOf(bounds, count * 2);
+                        }
+                        bounds[count++] = cut;
+                        nextCut = cut + Math.max(1, chunkBytes);
+                    }
+                }
+                offset += read;
+            }
+        }
+
+        if (count == 1 || bounds[count - 1] < offset) {
+            if (count == bounds.length) {
+                bounds = Arrays.copyOf(bounds, count + 1);
+            }
+            bounds[count++] = offset;
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private int readRecord() throws IOException {
+        length = 0;
+        fieldCount = 0;
+        int state = FIELD_START;
+        boolean consumed = false;
+
+        while (true) {
+            if (position == limit && !fill()) {
+                if (state == QUOTED) {
+                    throw new IOException("Unterminated quoted field in record " + (recordNumber + 1));
+                }
+                if (!consumed) {
+                    return END_OF_INPUT;
+                }
+                endField();
+                return RECORD;
+            }
+
+            char c = buffer[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            consumed = true;
+
+            switch (state) {
+                case FIELD_START -> {
+                    if (c == '"') {
+                        state = QUOTED;
+                    } else if (c == separator) {
+                        endField();
+                    } else if (c == '\n' || c == '\r') {
+                        skipLineFeed = c == '\r';
+                        if (fieldCount == 0) {
+                            return BLANK_LINE;
+                        }
+                        endField();
+                        return RECORD;
+                    } else {
+                        append(c);
+                        copyUntil(separator, '\n', '\r');
+                        state = UNQUOTED;
+                    }
+                }
+                case UNQUOTED -> {
+                    if (c == separator) {
+                        endField();
+                        state = FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        skipLineFeed = c == '\r';
+                        endField();
+                        return RECORD;
+                    } else {
+                        append(c);
+                        copyUntil(separator, '\n', '\r');
+                    }
+                }
+                case QUOTED -> {
+                    if (c == '"') {
+                        state = QUOTE_IN_QUOTED;
+                    } else {
+                        append(c);
+                        copyUntil('"', '"', '"');
+                    }
+                }
+                default -> {
+                    if (c == '"') {
+                        append('"');
+                        state = QUOTED;
+                    } else if (c == separator) {
+                        endField();
+                        state = FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        skipLineFeed = c == '\r';
+                        endField();
+                        return RECORD;
+                    } else {
+                        append(c);
+                        state = UNQUOTED;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        if (!started) {
+            started = true;
+            if (buffer[0] == '\uFEFF') {
+                position = 1;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasByteOrderMark(byte[] bytes, int read) {
+        return read >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF;
+    }
+
+    private static boolean peekLineFeed(FileChannel channel, long position) throws IOException {
+        ByteBuffer next = ByteBuffer.allocate(1);
+        return channel.read(next, position) == 1 && next.get(0) == '\n';
+    }
+
+    private void append(char c) {
+        if (length == data.length) {
+            data = Arrays.copyOf(data, length * 2);
+        }
+        data[length++] = c;
+    }
+
+    /**
+     * Copies buffered chars up to, but not including, the next stop char in one
+     * step instead of going through the state machine char by char.
+     */
+    private void copyUntil(char a, char b, char c) {
+        int end = position;
+        while (end < limit) {
+            char ch = buffer[end];
+            if (ch == a || ch == b || ch == c) {
+                break;
+            }
+            end++;
+        }
+        int count = end - position;
+        if (count > 0) {
+            if (length + count > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + count));
+            }
+            System.arraycopy(buffer, position, data, length, count);
+            length += count;
+            position = end;
+        }
+    }
+
+    private void endField() {
+        if (fieldCount == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldEnds[fieldCount++] = length;
+    }
+}
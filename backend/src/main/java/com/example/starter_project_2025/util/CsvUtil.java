@@ -1,211 +1,286 @@
 package com.example.starter_project_2025.util;
 
+import com.example.starter_project_2025.exception.BadRequestException;
 import com.example.starter_project_2025.system.auth.dto.PermissionDTO;
 import com.example.starter_project_2025.system.auth.dto.RoleDTO;
+import com.example.starter_project_2025.system.auth.dto.RoleExportRow;
 import com.example.starter_project_2025.system.user.dto.UserDTO;
+import com.example.starter_project_2025.system.user.dto.UserImportRow;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 public class CsvUtil {
 
+    public static final MediaType CSV_MEDIA_TYPE = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
     private static final String CSV_SEPARATOR = ",";
+    // Separator of files read back; the import splits on it too, so pieces always end on a record
+    private static final char READ_SEPARATOR = ',';
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final List<String> USER_IMPORT_COLUMNS = List.of("email", "password", "first name", "last name", "role");
+
+    /**
+     * Writes roles as CSV. {@code rows} must be ordered by role id; consecutive
+     * rows of the same role are folded into one line with its permission names.
+     */
+    public void writeRolesCsv(Stream<RoleExportRow> rows, OutputStream outputStream) {
+        writeCsv(outputStream, "ID,Name,Description,Hierarchy Level,Is Active,Permissions,Created At,Updated At",
+                new RoleFolder(rows.iterator()), (role, csv) -> {
+                    csv.append(escapeSpecialCharacters(role.getId().toString())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(role.getName())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(role.getDescription())).append(CSV_SEPARATOR);
+                    csv.append(role.getHierarchyLevel()).append(CSV_SEPARATOR);
+                    csv.append(role.getIsActive()).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(String.join(";", role.getPermissionNames()))).append(CSV_SEPARATOR);
+                    csv.append(role.getCreatedAt() != null ? role.getCreatedAt().format(DATE_FORMATTER) : "").append(CSV_SEPARATOR);
+                    csv.append(role.getUpdatedAt() != null ? role.getUpdatedAt().format(DATE_FORMATTER) : "");
+                });
+    }
 
-    public String exportRolesToCsv(List<RoleDTO> roles) {
-        StringBuilder csv = new StringBuilder();
-        csv.append("ID,Name,Description,Hierarchy Level,Is Active,Permissions,Created At,Updated At\n");
-
-        for (RoleDTO role : roles) {
-            csv.append(escapeSpecialCharacters(role.getId().toString())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(role.getName())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(role.getDescription())).append(CSV_SEPARATOR);
-            csv.append(role.getHierarchyLevel()).append(CSV_SEPARATOR);
-            csv.append(role.getIsActive()).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(
-                    role.getPermissionNames() != null ? String.join(";", role.getPermissionNames()) : ""
-            )).append(CSV_SEPARATOR);
-            csv.append(role.getCreatedAt() != null ? role.getCreatedAt().format(DATE_FORMATTER) : "").append(CSV_SEPARATOR);
-            csv.append(role.getUpdatedAt() != null ? role.getUpdatedAt().format(DATE_FORMATTER) : "");
-            csv.append("\n");
-        }
-
-        return csv.toString();
+    public void writeUsersCsv(Stream<UserDTO> users, OutputStream outputStream) {
+        writeCsv(outputStream, "ID,Email,First Name,Last Name,Role,Is Active,Created At,Updated At",
+                users.iterator(), (user, csv) -> {
+                    csv.append(escapeSpecialCharacters(user.getId().toString())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(user.getEmail())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(user.getFirstName())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(user.getLastName())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(user.getRoleName())).append(CSV_SEPARATOR);
+                    csv.append(user.getIsActive()).append(CSV_SEPARATOR);
+                    csv.append(user.getCreatedAt() != null ? user.getCreatedAt().format(DATE_FORMATTER) : "").append(CSV_SEPARATOR);
+                    csv.append(user.getUpdatedAt() != null ? user.getUpdatedAt().format(DATE_FORMATTER) : "");
+                });
     }
 
-    public String exportUsersToCsv(List<UserDTO> users) {
-        StringBuilder csv = new StringBuilder();
-        csv.append("ID,Email,First Name,Last Name,Role,Is Active,Created At,Updated At\n");
+    public void writePermissionsCsv(Stream<PermissionDTO> permissions, OutputStream outputStream) {
+        writeCsv(outputStream, "ID,Name,Description,Resource,Action",
+                permissions.iterator(), (permission, csv) -> {
+                    csv.append(escapeSpecialCharacters(permission.getId().toString())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(permission.getName())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(permission.getDescription())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(permission.getResource())).append(CSV_SEPARATOR);
+                    csv.append(escapeSpecialCharacters(permission.getAction()));
+                });
+    }
 
-        for (UserDTO user : users) {
-            csv.append(escapeSpecialCharacters(user.getId().toString())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(user.getEmail())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(user.getFirstName())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(user.getLastName())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(user.getRoleName())).append(CSV_SEPARATOR);
-            csv.append(user.getIsActive()).append(CSV_SEPARATOR);
-            csv.append(user.getCreatedAt() != null ? user.getCreatedAt().format(DATE_FORMATTER) : "").append(CSV_SEPARATOR);
-            csv.append(user.getUpdatedAt() != null ? user.getUpdatedAt().format(DATE_FORMATTER) : "");
-            csv.append("\n");
+    /**
+     * Formats one row at a time into a reused buffer and flushes the writer every
+     * {@link #FLUSH_EVERY_ROWS} rows, so output reaches the client while the
+     * source is still being read and nothing beyond one row is retained.
+     */
+    private static <T> void writeCsv(OutputStream outputStream, String header, Iterator<T> rows,
+                                     BiConsumer<T, StringBuilder> formatter) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        StringBuilder csv = new StringBuilder(256);
+        try {
+            writer.write(header);
+            writer.write('\n');
+            writer.flush();
+
+            long count = 0;
+            while (rows.hasNext()) {
+                csv.setLength(0);
+                formatter.accept(rows.next(), csv);
+                csv.append('\n');
+                writer.append(csv);
+                if (++count % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
-
-        return csv.toString();
     }
 
-    public String exportPermissionsToCsv(List<PermissionDTO> permissions) {
-        StringBuilder csv = new StringBuilder();
-        csv.append("ID,Name,Description,Resource,Action\n");
-
-        for (PermissionDTO permission : permissions) {
-            csv.append(escapeSpecialCharacters(permission.getId().toString())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(permission.getName())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(permission.getDescription())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(permission.getResource())).append(CSV_SEPARATOR);
-            csv.append(escapeSpecialCharacters(permission.getAction()));
-            csv.append("\n");
-        }
+    /**
+     * View of the current record passed to {@link #readRows} callbacks. Columns
+     * are addressed by their position in the requested column list; the view is
+     * reused for every record and must not be retained.
+     */
+    public interface CsvRow {
+        long number();
 
-        return csv.toString();
+        String get(int column);
     }
 
-    public List<Map<String, String>> importRolesFromCsv(InputStream inputStream) throws IOException {
-        List<Map<String, String>> roles = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                return roles;
+    /**
+     * Streams a CSV file record by record. The header is read once and each
+     * requested column (matched trimmed and case-insensitively) is bound to its
+     * index; a missing column is rejected. Values are trimmed and whitespace-only
+     * records are skipped. Returns the number of data rows handed to
+     * {@code handler}.
+     */
+    public long readRows(InputStream inputStream, List<String> columns, Consumer<CsvRow> handler) throws IOException {
+        try (CsvReader reader = newReader(inputStream)) {
+            if (!reader.next()) {
+                return 0;
             }
+            return readRecords(reader, bindColumns(reader, columns), handler);
+        }
+    }
 
-            String[] headers = parseCsvLine(headerLine);
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-
-                String[] values = parseCsvLine(line);
-                Map<String, String> role = new HashMap<>();
-
-                for (int i = 0; i < headers.length && i < values.length; i++) {
-                    role.put(headers[i].trim(), values[i].trim());
-                }
+    /**
+     * Reads only the header record and binds {@code columns} as {@link #readRows}
+     * does. Returns {@code null} when the input holds no record at all.
+     */
+    public int[] readHeader(InputStream inputStream, List<String> columns) throws IOException {
+        try (CsvReader reader = newReader(inputStream)) {
+            return reader.next() ? bindColumns(reader, columns) : null;
+        }
+    }
 
-                roles.add(role);
-            }
+    /**
+     * Reads a headerless piece of a CSV file, such as one cut by
+     * {@link CsvReader#splitRecords}, with columns bound by {@link #readHeader}.
+     * Row numbers start at 1 within the piece.
+     */
+    public long readRows(InputStream inputStream, int[] columns, Consumer<CsvRow> handler) throws IOException {
+        try (CsvReader reader = newReader(inputStream)) {
+            return readRecords(reader, columns, handler);
         }
+    }
 
-        return roles;
+    /**
+     * Streams a user import file; {@code Email}, {@code Password}, {@code First Name},
+     * {@code Last Name} and {@code Role} columns are required, in any order.
+     */
+    public long readUserImportRows(InputStream inputStream, Consumer<UserImportRow> consumer) throws IOException {
+        return readRows(inputStream, USER_IMPORT_COLUMNS, row -> consumer.accept(toUserImportRow(row)));
     }
 
-    public List<Map<String, String>> importUsersFromCsv(InputStream inputStream) throws IOException {
-        List<Map<String, String>> users = new ArrayList<>();
+    public int[] readUserImportHeader(InputStream inputStream) throws IOException {
+        return readHeader(inputStream, USER_IMPORT_COLUMNS);
+    }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                return users;
-            }
+    public long readUserImportRows(InputStream inputStream, int[] columns, Consumer<UserImportRow> consumer) throws IOException {
+        return readRows(inputStream, columns, row -> consumer.accept(toUserImportRow(row)));
+    }
 
-            String[] headers = parseCsvLine(headerLine);
-            String line;
+    /**
+     * Cuts a user import file into pieces for {@link #readUserImportRows(InputStream, int[], Consumer)};
+     * see {@link CsvReader#splitRecords(Path, char, long)}.
+     */
+    public long[] splitUserImport(Path file, long chunkBytes) throws IOException {
+        return CsvReader.splitRecords(file, READ_SEPARATOR, chunkBytes);
+    }
 
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
+    private static UserImportRow toUserImportRow(CsvRow row) {
+        return new UserImportRow(row.number(), row.get(0), row.get(1), row.get(2), row.get(3), row.get(4));
+    }
 
-                String[] values = parseCsvLine(line);
-                Map<String, String> user = new HashMap<>();
+    private static CsvReader newReader(InputStream inputStream) {
+        return new CsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), READ_SEPARATOR);
+    }
 
-                for (int i = 0; i < headers.length && i < values.length; i++) {
-                    user.put(headers[i].trim(), values[i].trim());
-                }
+    private static long readRecords(CsvReader reader, int[] indexes, Consumer<CsvRow> handler) throws IOException {
+        long[] rows = {0};
+        CsvRow row = new CsvRow() {
+            @Override
+            public long number() {
+                return rows[0];
+            }
 
-                users.add(user);
+            @Override
+            public String get(int column) {
+                return reader.get(indexes[column]).trim();
             }
-        }
+        };
 
-        return users;
+        while (reader.next()) {
+            if (reader.size() == 1 && reader.get(0).isBlank()) {
+                continue;
+            }
+            rows[0]++;
+            handler.accept(row);
+        }
+        return rows[0];
     }
 
-    public List<Map<String, String>> importPermissionsFromCsv(InputStream inputStream) throws IOException {
-        List<Map<String, String>> permissions = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                return permissions;
+    private static int[] bindColumns(CsvReader header, List<String> required) {
+        int[] columns = new int[required.size()];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.size(); i++) {
+            int column = required.indexOf(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column >= 0 && columns[column] < 0) {
+                columns[column] = i;
             }
-
-            String[] headers = parseCsvLine(headerLine);
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-
-                String[] values = parseCsvLine(line);
-                Map<String, String> permission = new HashMap<>();
-
-                for (int i = 0; i < headers.length && i < values.length; i++) {
-                    permission.put(headers[i].trim(), values[i].trim());
-                }
-
-                permissions.add(permission);
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] < 0) {
+                throw new BadRequestException("Missing CSV column: " + required.get(i));
             }
         }
-
-        return permissions;
+        return columns;
     }
 
-    private String escapeSpecialCharacters(String data) {
+    private static String escapeSpecialCharacters(String data) {
         if (data == null) {
             return "";
         }
 
         String escapedData = data.replace("\"", "\"\"");
 
-        if (escapedData.contains(",") || escapedData.contains("\"") || escapedData.contains("\n")) {
+        if (escapedData.contains(",") || escapedData.contains("\"") || escapedData.contains("\n") || escapedData.contains("\r")) {
             escapedData = "\"" + escapedData + "\"";
         }
 
         return escapedData;
     }
 
-    private String[] parseCsvLine(String line) {
-        List<String> result = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder current = new StringBuilder();
+    private static final class RoleFolder implements Iterator<RoleDTO> {
+        private final Iterator<RoleExportRow> rows;
+        private RoleExportRow pending;
+
+        RoleFolder(Iterator<RoleExportRow> rows) {
+            this.rows = rows;
+            this.pending = rows.hasNext() ? rows.next() : null;
+        }
 
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
 
-            if (c == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    current.append('"');
-                    i++;
-                } else {
-                    inQuotes = !inQuotes;
+        @Override
+        public RoleDTO next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            RoleExportRow first = pending;
+            RoleDTO role = new RoleDTO();
+            role.setId(first.id());
+            role.setName(first.name());
+            role.setDescription(first.description());
+            role.setHierarchyLevel(first.hierarchyLevel());
+            role.setIsActive(first.isActive());
+            role.setCreatedAt(first.createdAt());
+            role.setUpdatedAt(first.updatedAt());
+            role.setPermissionNames(new LinkedHashSet<>());
+            while (pending != null && pending.id().equals(first.id())) {
+                if (pending.permissionName() != null) {
+                    role.getPermissionNames().add(pending.permissionName());
                 }
-            } else if (c == ',' && !inQuotes) {
-                result.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
+                pending = rows.hasNext() ? rows.next() : null;
             }
+            return role;
         }
-
-        result.add(current.toString());
-        return result.toArray(new String[0]);
     }
 }
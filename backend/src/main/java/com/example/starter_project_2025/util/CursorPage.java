@@ -0,0 +1,10 @@
+package com.example.starter_project_2025.util;
+
+import java.util.List;
+
+/**
+ * One window of a keyset-paginated listing. {@code nextCursor} is opaque and is
+ * passed back unchanged to fetch the following window; it is {@code null} on the last one.
+ */
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+}
@@ -0,0 +1,137 @@
+package com.example.starter_project_2025.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Small bounded map whose entries carry their own expiry time. When the cache
+ * is full, expired entries are purged first and then arbitrary entries are
+ * dropped until it is back under its limit.
+ */
+public class ExpiringCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public void put(K key, V value, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            shrink();
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public void remove(K key) {
+        if (entries.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void removeIf(BiPredicate<K, V> predicate) {
+        entries.entrySet().removeIf(e -> {
+            boolean remove = predicate.test(e.getKey(), e.getValue().value());
+            if (remove) {
+                evictions.increment();
+            }
+            return remove;
+        });
+    }
+
+    public void clear() {
+        int size = entries.size();
+        entries.clear();
+        evictions.add(size);
+    }
+
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt() <= now) {
+                it.remove();
+                removed++;
+            }
+        }
+        evictions.add(removed);
+        return removed;
+    }
+
+    private void shrink() {
+        purgeExpired();
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<K> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", getMisses());
+        stats.put("evictions", getEvictions());
+        stats.put("hitRate", total > 0 ? (double) hitCount / total : 0.0);
+        return stats;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.starter_project_2025.util;
+
+import com.example.starter_project_2025.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Encodes keyset scroll positions as opaque cursors. A cursor carries the sort
+ * key and id of the last row returned, so the next query seeks directly to it
+ * through the index instead of skipping an offset. Only the keys of the
+ * current sort are accepted back, with their types taken from {@code keyTypes}.
+ * <p>
+ * Each key is written as {@code key=value} on its own line, with the value
+ * base64url-encoded so that sort keys containing newlines or {@code =} survive.
+ */
+public final class KeysetCursor {
+
+    private static final String ID = "id";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Builds a sort on {@code spec} ("field" or "field,direction") with the id as
+     * tie-breaker, rejecting fields that are not listed in {@code keyTypes}.
+     */
+    public static Sort sort(String[] spec, Map<String, Class<?>> keyTypes) {
+        String field = spec[0];
+        if (ID.equals(field) || !keyTypes.containsKey(field)) {
+            throw new BadRequestException("Unsupported sort field for cursor pagination: " + field);
+        }
+        Sort.Direction direction = direction(spec);
+        return Sort.by(direction, field).and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Reads the direction of a "field,direction" sort parameter, defaulting to ascending.
+     */
+    public static Sort.Direction direction(String[] spec) {
+        if (spec.length < 2) {
+            return Sort.Direction.ASC;
+        }
+        try {
+            return Sort.Direction.fromString(spec[1]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sort direction: " + spec[1] + " (expected asc or desc)");
+        }
+    }
+
+    public static ScrollPosition decode(String cursor, Sort sort, Map<String, Class<?>> keyTypes) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String line : decoded.split("\n")) {
+                int separator = line.indexOf('=');
+                String key = line.substring(0, separator);
+                String value = new String(Base64.getUrlDecoder().decode(line.substring(separator + 1)), StandardCharsets.UTF_8);
+                keys.put(key, convert(value, ID.equals(key) ? UUID.class : keyTypes.get(key)));
+            }
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        for (Sort.Order order : sort) {
+            if (!keys.containsKey(order.getProperty())) {
+                throw new BadRequestException("Cursor does not match the requested sort");
+            }
+        }
+        if (keys.size() != sort.stream().count()) {
+            throw new BadRequestException("Cursor does not match the requested sort");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public static String encode(ScrollPosition position) {
+        StringBuilder encoded = new StringBuilder();
+        ((KeysetScrollPosition) position).getKeys().forEach((key, value) -> {
+            if (!encoded.isEmpty()) {
+                encoded.append('\n');
+            }
+            encoded.append(key).append('=').append(Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(String.valueOf(value).getBytes(StandardCharsets.UTF_8)));
+        });
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(encoded.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <T, R> CursorPage<R> toPage(Window<T> window, Function<? super T, ? extends R> mapper) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode(window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPage<>(window.<R>map(mapper).getContent(), window.size(), window.hasNext(), nextCursor);
+    }
+
+    private static Object convert(String value, Class<?> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown cursor key");
+        }
+        if (type == String.class) {
+            return value;
+        }
+        if (type == UUID.class) {
+            return UUID.fromString(value);
+        }
+        if (type == Integer.class) {
+            return Integer.valueOf(value);
+        }
+        if (type == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        throw new IllegalArgumentException("Unsupported cursor key type: " + type);
+    }
+}
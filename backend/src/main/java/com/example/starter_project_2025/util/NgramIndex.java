@@ -0,0 +1,369 @@
+package com.example.starter_project_2025.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory substring index over a few short text fields per key. Every field is
+ * broken into trigrams, plus one- and two-character prefixes of each word for
+ * short queries. Postings are sorted int arrays of document ids; ids only grow,
+ * so an update tombstones the old document and appends a new one, and the index
+ * compacts itself once tombstones outnumber live documents.
+ * <p>
+ * A query is split on whitespace and every term must match. Candidates come from
+ * intersecting the term's postings and are then verified against the stored
+ * text, so n-gram collisions never produce false hits.
+ */
+public class NgramIndex<K> {
+
+    private static final int EXACT_SCORE = 8;
+    private static final int FIELD_PREFIX_SCORE = 4;
+    private static final int WORD_PREFIX_SCORE = 3;
+    private static final int SUBSTRING_SCORE = 1;
+    private static final int COMPACT_THRESHOLD = 1_024;
+    private static final long PREFIX1 = 1L << 62;
+    private static final long PREFIX2 = 1L << 63;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<K, Integer> docByKey = new HashMap<>();
+    private List<K> keys = new ArrayList<>();
+    private List<String[]> texts = new ArrayList<>();
+    private Map<Long, Postings> postings = new HashMap<>();
+    private int deleted;
+
+    public record Result<K>(List<K> keys, int total) {
+    }
+
+    public void put(K key, String... fields) {
+        String[] text = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            text[i] = normalize(fields[i]);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            add(key, text);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            docByKey.clear();
+            keys = new ArrayList<>();
+            texts = new ArrayList<>();
+            postings = new HashMap<>();
+            deleted = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of matching keys, best match first, together with the
+     * total number of matches. Ties go to the shorter first field, then to the
+     * earlier indexed document.
+     */
+    public Result<K> search(String query, int offset, int limit) {
+        String[] terms = normalize(query).split("\\s+");
+        if (terms.length == 0 || terms[0].isEmpty()) {
+            return new Result<>(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            for (String term : terms) {
+                candidates = intersect(candidates, candidatesFor(term));
+                if (candidates.length == 0) {
+                    return new Result<>(List.of(), 0);
+                }
+            }
+
+            // Keep only the best offset + limit hits in a min-heap of packed ranks
+            int wanted = (int) Math.min((long) Math.max(offset, 0) + Math.max(limit, 0), candidates.length);
+            long[] heap = new long[wanted];
+            int heapSize = 0;
+            int total = 0;
+            for (int doc : candidates) {
+                String[] text = texts.get(doc);
+                int score = text == null ? 0 : score(text, terms);
+                if (score == 0) {
+                    continue;
+                }
+                total++;
+                long rank = rank(score, text[0].length(), doc);
+                if (heapSize < wanted) {
+                    heap[heapSize] = rank;
+                    siftUp(heap, heapSize++);
+                } else if (wanted > 0 && rank > heap[0]) {
+                    heap[0] = rank;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            long[] best = Arrays.copyOf(heap, heapSize);
+            Arrays.sort(best);
+            List<K> page = new ArrayList<>();
+            for (int i = best.length - 1 - Math.max(offset, 0); i >= 0; i--) {
+                page.add(keys.get((int) (Integer.MAX_VALUE - (best[i] & 0x7FFFFFFFL))));
+            }
+            return new Result<>(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int postingLists() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(K key, String[] text) {
+        int doc = keys.size();
+        keys.add(key);
+        texts.add(text);
+        docByKey.put(key, doc);
+        for (String field : text) {
+            for (int i = 0; i + 3 <= field.length(); i++) {
+                posting(trigram(field, i)).add(doc);
+            }
+            for (int i = 0; i < field.length(); i++) {
+                if (isWordStart(field, i)) {
+                    posting(PREFIX1 | field.charAt(i)).add(doc);
+                    if (i + 1 < field.length()) {
+                        posting(prefix2(field, i)).add(doc);
+                    }
+                }
+            }
+        }
+    }
+
+    private void removeLocked(K key) {
+        Integer doc = docByKey.remove(key);
+        if (doc != null) {
+            keys.set(doc, null);
+            texts.set(doc, null);
+            deleted++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deleted > COMPACT_THRESHOLD && deleted > docByKey.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<K> liveKeys = keys;
+        List<String[]> liveTexts = texts;
+        docByKey.clear();
+        keys = new ArrayList<>(liveKeys.size() - deleted);
+        texts = new ArrayList<>(liveKeys.size() - deleted);
+        postings = new HashMap<>();
+        deleted = 0;
+        for (int doc = 0; doc < liveKeys.size(); doc++) {
+            if (liveKeys.get(doc) != null) {
+                add(liveKeys.get(doc), liveTexts.get(doc));
+            }
+        }
+    }
+
+    private int[] candidatesFor(String term) {
+        if (term.length() == 1) {
+            return docs(PREFIX1 | term.charAt(0));
+        }
+        if (term.length() == 2) {
+            return docs(prefix2(term, 0));
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            Postings list = postings.get(trigram(term, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] result = lists.get(0).toArray();
+        for (int l = 1; l < lists.size() && result.length > 0; l++) {
+            Postings list = lists.get(l);
+            int size = 0;
+            for (int doc : result) {
+                if (Arrays.binarySearch(list.docs, 0, list.size, doc) >= 0) {
+                    result[size++] = doc;
+                }
+            }
+            result = Arrays.copyOf(result, size);
+        }
+        return result;
+    }
+
+    private int[] docs(long gram) {
+        Postings list = postings.get(gram);
+        return list == null ? new int[0] : list.toArray();
+    }
+
+    private static int[] intersect(int[] current, int[] next) {
+        if (current == null) {
+            return next;
+        }
+        int[] smaller = current.length <= next.length ? current : next;
+        int[] larger = smaller == current ? next : current;
+        int[] out = new int[smaller.length];
+        int size = 0;
+        for (int doc : smaller) {
+            if (Arrays.binarySearch(larger, doc) >= 0) {
+                out[size++] = doc;
+            }
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    private static long rank(int score, int firstFieldLength, int doc) {
+        return ((long) score << 48) | ((long) (0xFFFF - Math.min(firstFieldLength, 0xFFFF)) << 32)
+                | (Integer.MAX_VALUE - doc);
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= heap[i]) {
+                return;
+            }
+            swap(heap, parent, i);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[i] <= heap[child]) {
+                return;
+            }
+            swap(heap, i, child);
+            i = child;
+        }
+    }
+
+    private static void swap(long[] heap, int a, int b) {
+        long tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    private static int score(String[] text, String[] terms) {
+        int total = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (String field : text) {
+                best = Math.max(best, score(field, term));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static int score(String field, String term) {
+        if (field.equals(term)) {
+            return EXACT_SCORE;
+        }
+        if (field.startsWith(term)) {
+            return FIELD_PREFIX_SCORE;
+        }
+        int best = 0;
+        for (int i = field.indexOf(term); i >= 0; i = field.indexOf(term, i + 1)) {
+            if (isWordStart(field, i)) {
+                return WORD_PREFIX_SCORE;
+            }
+            best = SUBSTRING_SCORE;
+        }
+        // Short terms only have word-prefix postings, so a bare substring is not a hit
+        return term.length() < 3 ? 0 : best;
+    }
+
+    private static boolean isWordStart(String field, int i) {
+        return Character.isLetterOrDigit(field.charAt(i))
+                && (i == 0 || !Character.isLetterOrDigit(field.charAt(i - 1)));
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static long prefix2(String s, int i) {
+        return PREFIX2 | ((long) s.charAt(i) << 16) | s.charAt(i + 1);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Postings posting(long gram) {
+        return postings.computeIfAbsent(gram, g -> new Postings());
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            // Documents are indexed one at a time in increasing id order
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(docs, size);
+        }
+    }
+}
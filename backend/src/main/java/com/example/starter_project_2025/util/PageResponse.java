@@ -0,0 +1,69 @@
+package com.example.starter_project_2025.util;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paged listing envelope with the same core fields as a serialized {@link Page}.
+ * {@code totalElements} and {@code totalPages} are {@code null} when the count was
+ * skipped, and {@code totalExact} tells whether they come from a count query (or
+ * from reaching the last page) rather than from a cached approximation.
+ */
+public record PageResponse<T>(
+        List<T> content,
+        int number,
+        int size,
+        int numberOfElements,
+        boolean first,
+        boolean last,
+        boolean empty,
+        Long totalElements,
+        Integer totalPages,
+        boolean totalExact
+) {
+
+    public static <T> PageResponse<T> query(CountMode countMode, Pageable pageable,
+                                            Function<Pageable, Page<T>> pageQuery,
+                                            Function<Pageable, Slice<T>> sliceQuery,
+                                            ApproximateCount approximateCount) {
+        if (countMode == CountMode.EXACT) {
+            return of(pageQuery.apply(pageable));
+        }
+        Slice<T> slice = sliceQuery.apply(pageable);
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+            // The last page pins the total down exactly without a count query
+            return of(slice, pageable.getOffset() + slice.getNumberOfElements(), true);
+        }
+        if (!slice.hasNext()) {
+            // Past the end only bounds the total from above
+            return countMode == CountMode.APPROXIMATE
+                    ? of(slice, Math.min(approximateCount.get(), pageable.getOffset()), false)
+                    : of(slice, null, false);
+        }
+        if (countMode == CountMode.APPROXIMATE) {
+            long seen = pageable.getOffset() + slice.getNumberOfElements() + 1;
+            return of(slice, Math.max(approximateCount.get(), seen), false);
+        }
+        return of(slice, null, false);
+    }
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return of(page, page.getTotalElements(), true);
+    }
+
+    private static <T> PageResponse<T> of(Slice<T> slice, Long totalElements, boolean totalExact) {
+        Integer totalPages = totalElements == null ? null
+                : slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / slice.getSize());
+        return new PageResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.getNumberOfElements(),
+                slice.isFirst(), slice.isLast(), slice.isEmpty(), totalElements, totalPages, totalExact);
+    }
+
+    public <R> PageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        return new PageResponse<>(content.stream().<R>map(mapper).toList(), number, size, numberOfElements,
+                first, last, empty, totalElements, totalPages, totalExact);
+    }
+}
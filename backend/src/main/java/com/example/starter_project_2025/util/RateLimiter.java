@@ -0,0 +1,115 @@
+package com.example.starter_project_2025.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keyed token-bucket limiter implemented as GCRA: each key holds a single
+ * theoretical arrival time updated by CAS, so acquiring never takes a lock.
+ * A key whose arrival time has passed is equivalent to a full bucket and can
+ * be dropped without changing behaviour; that is how memory stays bounded.
+ * <p>
+ * Only such full buckets are ever evicted, so a throttled key keeps its limit
+ * however many other keys arrive. When the limiter is at capacity and nothing
+ * can be evicted, new keys share one overflow bucket until space frees up.
+ */
+public class RateLimiter {
+
+    // A scan finds nothing to evict while every bucket is active, so bound how often it runs
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong lastEvictionNanos = new AtomicLong(System.nanoTime() - EVICTION_INTERVAL_NANOS);
+    private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    public RateLimiter(int burst, int permitsPerMinute, int maxKeys) {
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(1, burst);
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    /**
+     * Takes one permit for {@code key}. Returns {@code 0} when granted, otherwise
+     * the number of nanoseconds until a permit becomes available.
+     */
+    public long tryAcquire(String key) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle();
+            }
+            if (buckets.size() >= maxKeys) {
+                overflowed.increment();
+                tat = overflow;
+            } else {
+                tat = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+            }
+        }
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long next = start + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        long last = lastEvictionNanos.get();
+        if (now - last < EVICTION_INTERVAL_NANOS || !lastEvictionNanos.compareAndSet(last, now)) {
+            return;
+        }
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = buckets.size();
+            buckets.values().removeIf(tat -> tat.get() == Long.MIN_VALUE || tat.get() - now <= 0);
+            evictions.add(Math.max(0, before - buckets.size()));
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long allowed() {
+        return allowed.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long overflowed() {
+        return overflowed.sum();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.starter_project_2025.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Membership filter for the values of a unique column. A {@link BloomFilter}
+ * answers "definitely absent" for new keys without a query; only possible hits
+ * are confirmed with the caller's exact lookup. Callers add a key just before
+ * writing it, but a rebuild can still miss one: a key added before the rebuild
+ * started and committed after its snapshot was read is in neither. The unique
+ * constraint stays the final guard for such keys. Deleted or renamed keys cannot
+ * be taken out and stay behind as false positives until the next rebuild.
+ * <p>
+ * Until the first {@link #rebuild} every check goes to the lookup.
+ */
+public class UniqueKeyFilter {
+
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private BloomFilter building;
+    private volatile long capacity;
+
+    private final AtomicLong staleKeys = new AtomicLong();
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public UniqueKeyFilter(long expectedKeys, double falsePositiveRate) {
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Returns whether {@code key} exists, calling {@code lookup} only when the
+     * filter cannot rule it out.
+     */
+    public boolean exists(String key, Predicate<String> lookup) {
+        checks.increment();
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(key)) {
+            return false;
+        }
+        lookups.increment();
+        boolean exists = lookup.test(key);
+        if (!exists && current != null) {
+            falsePositives.increment();
+        }
+        return exists;
+    }
+
+    /**
+     * Returns the subset of {@code keys} that exists. Keys the filter rules out
+     * are dropped first and the rest go to {@code lookup} in one call, which is
+     * skipped entirely when nothing is left.
+     */
+    public Set<String> existing(Collection<String> keys, Function<Collection<String>, Collection<String>> lookup) {
+        checks.add(keys.size());
+        BloomFilter current = filter;
+        List<String> candidates = new ArrayList<>();
+        for (String key : keys) {
+            if (current == null || current.mightContain(key)) {
+                candidates.add(key);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        lookups.add(candidates.size());
+        Set<String> found = new HashSet<>(lookup.apply(candidates));
+        if (current != null) {
+            falsePositives.add(candidates.size() - found.size());
+        }
+        return found;
+    }
+
+    public synchronized void add(String key) {
+        if (filter != null) {
+            filter.put(key);
+        }
+        if (building != null) {
+            building.put(key);
+        }
+    }
+
+    /**
+     * Records that a key was deleted or renamed away; it keeps matching until the
+     * next rebuild.
+     */
+    public void removed() {
+        staleKeys.incrementAndGet();
+    }
+
+    /**
+     * Replaces the filter with one built from {@code source}, which must feed every
+     * current key to the consumer it is given. Keys added while the source runs
+     * go into both the old and the new filter.
+     */
+    public void rebuild(long keyCount, Consumer<Consumer<String>> source) {
+        long size = Math.max(expectedKeys, keyCount * 2);
+        BloomFilter next = new BloomFilter(size, falsePositiveRate);
+        // Removals recorded from here on may still be in the snapshot the source reads
+        long staleBefore = staleKeys.get();
+        synchronized (this) {
+            building = next;
+        }
+        try {
+            source.accept(next::put);
+        } finally {
+            synchronized (this) {
+                building = null;
+            }
+        }
+        synchronized (this) {
+            filter = next;
+            capacity = size;
+            staleKeys.addAndGet(-staleBefore);
+        }
+    }
+
+    /**
+     * True once stale keys make up a quarter of the filter or it holds more keys
+     * than it was sized for, i.e. once its false-positive rate has drifted.
+     */
+    public boolean needsRebuild() {
+        BloomFilter current = filter;
+        return current != null
+                && (staleKeys.get() * 4 > current.insertions() || current.insertions() > capacity);
+    }
+
+    public Map<String, Object> getStats() {
+        BloomFilter current = filter;
+        long checked = checks.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", current != null);
+        stats.put("checks", checked);
+        stats.put("lookups", lookups.sum());
+        stats.put("falsePositives", falsePositives.sum());
+        stats.put("lookupRate", checked == 0 ? 0.0 : (double) lookups.sum() / checked);
+        stats.put("keys", current == null ? 0 : current.insertions());
+        stats.put("staleKeys", staleKeys.get());
+        stats.put("expectedFalsePositiveRate", current == null ? 0.0 : current.expectedFalsePositiveRate());
+        stats.put("memoryBytes", current == null ? 0 : current.memoryBytes());
+        return stats;
+    }
+}
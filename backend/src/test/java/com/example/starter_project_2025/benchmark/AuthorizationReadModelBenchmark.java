@@ -0,0 +1,94 @@
+package com.example.starter_project_2025.benchmark;
+
+import com.example.starter_project_2025.security.AuthorizationReadModel;
+import com.example.starter_project_2025.security.PermissionRegistry;
+import com.example.starter_project_2025.security.RoleHierarchyGraph;
+import com.example.starter_project_2025.system.auth.entity.Permission;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads 1M random user ids spread over 8 roles of 5 permissions each, with a
+ * two-level inheritance chain, into {@link AuthorizationReadModel}, one user in
+ * a hundred inactive. Setup prints the retained heap per user next to the size
+ * of the model's arrays; {@code hasPermission} cycles through 4096 known ids, and
+ * {@code whoCan} scans every slot for a permission granted through inheritance.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+public class AuthorizationReadModelBenchmark {
+
+    @Param("1000000")
+    private int users;
+
+    private AuthorizationReadModel model;
+    private UUID[] sample;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PermissionRegistry registry = new PermissionRegistry(null);
+        RoleHierarchyGraph graph = new RoleHierarchyGraph(null, null, registry);
+        Role[] roles = new Role[8];
+        for (int r = 0; r < roles.length; r++) {
+            Set<Permission> permissions = new HashSet<>();
+            for (int p = 0; p < 5; p++) {
+                Permission permission = new Permission();
+                permission.setName("P" + (r * 5 + p));
+                permissions.add(permission);
+            }
+            roles[r] = new Role();
+            roles[r].setId(UUID.randomUUID());
+            roles[r].setName("ROLE" + r);
+            roles[r].setPermissions(permissions);
+            graph.roleSaved(roles[r]);
+        }
+        graph.reserveEdge(roles[0].getId(), roles[6].getId());
+        graph.reserveEdge(roles[6].getId(), roles[7].getId());
+
+        long before = usedHeap();
+        model = new AuthorizationReadModel(null, graph, registry);
+        Random random = new Random(42);
+        sample = new UUID[4096];
+        for (int i = 0; i < users; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            model.userSaved(id, roles[i % roles.length].getId(), i % 100 != 0);
+            if (i < sample.length) {
+                sample[i] = id;
+            }
+        }
+        long retained = usedHeap() - before;
+        System.out.printf("%n%d users: %d bytes per user measured, %d bytes per user in arrays%n",
+                model.size(), retained / users, model.memoryBytes() / users);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean hasPermission() {
+        return model.hasPermission(sample[next++ & (sample.length - 1)], "P3");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long whoCan() {
+        return model.whoCan("P3", 20).userCount();
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.starter_project_2025.benchmark;
+
+import com.example.starter_project_2025.util.CsvUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a generated 1M-row user import file, where every first name is quoted,
+ * once with the previous {@code readLine} loop that splits each line and copies it
+ * into a header-keyed map, and once with {@link CsvUtil#readUserImportRows}, which
+ * streams the bytes through a single reader without per-row maps. Each pass sums
+ * the email lengths so the parsed values cannot be optimised away.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+public class CsvParsingBenchmark {
+
+    @Param("1000000")
+    private int rows;
+
+    private Path file;
+    private CsvUtil csvUtil;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("csv-benchmark-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Email,Password,First Name,Last Name,Role\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write("user" + i + "@example.com,password123,\"First " + i + "\",Last,STUDENT\n");
+            }
+        }
+        csvUtil = new CsvUtil();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long lineSplitting() throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String[] headers = parseCsvLine(reader.readLine());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] values = parseCsvLine(line);
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < headers.length && i < values.length; i++) {
+                    row.put(headers[i].trim(), values[i].trim());
+                }
+                count += row.get("Email").length();
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long streamingReader() throws IOException {
+        long[] count = {0};
+        try (InputStream in = Files.newInputStream(file)) {
+            csvUtil.readUserImportRows(in, row -> count[0] += row.email().length());
+        }
+        return count[0];
+    }
+
+    private static String[] parseCsvLine(String line) {
+        List<String> result = new ArrayList<>();
+        boolean inQuotes = false;
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == ',' && !inQuotes) {
+                result.add(current.toString());
+                current = new StringBuilder();
+            } else {
+                current.append(c);
+            }
+        }
+        result.add(current.toString());
+        return result.toArray(new String[0]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CsvParsingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
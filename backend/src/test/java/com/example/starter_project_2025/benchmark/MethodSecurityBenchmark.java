@@ -0,0 +1,84 @@
+package com.example.starter_project_2025.benchmark;
+
+import com.example.starter_project_2025.security.CompiledPreAuthorizeAuthorizationManager;
+import com.example.starter_project_2025.security.PermissionRegistry;
+import com.example.starter_project_2025.security.UserDetailsImpl;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times a single {@code hasAuthority('USER_READ')} method check for a principal holding
+ * eight permissions, once through the SpEL-based {@code @PreAuthorize} manager and once
+ * through {@link CompiledPreAuthorizeAuthorizationManager}, outside any request so the
+ * route-table shortcut does not apply.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodSecurityBenchmark {
+
+    private PreAuthorizeAuthorizationManager expressionManager;
+    private CompiledPreAuthorizeAuthorizationManager compiledManager;
+    private MethodInvocation invocation;
+    private Supplier<Authentication> authentication;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        PermissionRegistry registry = new PermissionRegistry(null);
+        List<String> permissions = List.of("MENU_READ", "ROLE_CREATE", "ROLE_READ", "ROLE_UPDATE",
+                "USER_CREATE", "USER_DELETE", "USER_READ", "USER_UPDATE");
+        permissions.forEach(registry::ordinalOf);
+
+        UserDetailsImpl principal = UserDetailsImpl.fromClaims(UUID.randomUUID(), "admin@example.com", "ADMIN",
+                permissions, registry);
+        Authentication token = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        authentication = () -> token;
+
+        expressionManager = new PreAuthorizeAuthorizationManager();
+        compiledManager = new CompiledPreAuthorizeAuthorizationManager(expressionManager, () -> registry, true);
+
+        SecuredService target = new SecuredService();
+        invocation = new SimpleMethodInvocation(target, SecuredService.class.getMethod("getUser"));
+    }
+
+    @Benchmark
+    public AuthorizationDecision spelPreAuthorize() {
+        return expressionManager.check(authentication, invocation);
+    }
+
+    @Benchmark
+    public AuthorizationDecision compiledPreAuthorize() {
+        return compiledManager.check(authentication, invocation);
+    }
+
+    public static class SecuredService {
+
+        @PreAuthorize("hasAuthority('USER_READ')")
+        public String getUser() {
+            return "user";
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MethodSecurityBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * JMH benchmarks behind the numbers quoted in commit messages. They are not part of
+ * the test run: after {@code mvn test-compile}, run {@code org.openjdk.jmh.Main} with
+ * the benchmark's simple name and the test classpath, or start its {@code main}
+ * from the IDE where it has one.
+ */
+package com.example.starter_project_2025.benchmark;
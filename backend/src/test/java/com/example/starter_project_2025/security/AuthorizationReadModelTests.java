@@ -0,0 +1,78 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.system.auth.entity.Permission;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorizationReadModelTests {
+
+	private final PermissionRegistry registry = new PermissionRegistry(null);
+	private final RoleHierarchyGraph graph = new RoleHierarchyGraph(null, null, registry);
+	private final AuthorizationReadModel model = new AuthorizationReadModel(null, graph, registry);
+
+	@Test
+	void resolvesEffectivePermissionsThroughTheRole() {
+		Role base = role("BASE", "USER_READ");
+		Role admin = role("ADMIN", "USER_DELETE");
+		UUID user = UUID.randomUUID();
+		model.userSaved(user, admin.getId(), true);
+
+		assertTrue(model.hasPermission(user, "USER_DELETE"));
+		assertFalse(model.hasPermission(user, "USER_READ"));
+
+		graph.reserveEdge(base.getId(), admin.getId());
+		assertTrue(model.hasPermission(user, "USER_READ"));
+
+		model.userSaved(user, base.getId(), false);
+		assertTrue(model.permissionsOf(user).isEmpty());
+		assertFalse(model.hasPermission(UUID.randomUUID(), "USER_READ"));
+	}
+
+	@Test
+	void countsActiveHoldersAcrossGrowthAndRemoval() {
+		Role reader = role("READER", "MENU_READ");
+		Role other = role("OTHER", "AUDIT_READ");
+		List<UUID> users = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			UUID id = UUID.randomUUID();
+			users.add(id);
+			model.userSaved(id, (i % 2 == 0 ? reader : other).getId(), i % 10 != 0);
+		}
+		for (int i = 0; i < 20; i++) {
+			model.userRemoved(users.get(i));
+		}
+		for (int i = 0; i < 50; i++) {
+			model.userSaved(UUID.randomUUID(), reader.getId(), true);
+		}
+
+		AuthorizationReadModel.Holders holders = model.whoCan("MENU_READ", 5);
+		assertEquals(List.of("READER"), holders.roles());
+		assertEquals(32 + 50, holders.userCount());
+		assertEquals(5, holders.userIds().size());
+		assertEquals(130, model.size());
+		assertTrue(model.hasPermission(users.get(22), "MENU_READ"));
+		assertFalse(model.hasPermission(users.get(2), "MENU_READ"));
+	}
+
+	private Role role(String name, String... permissions) {
+		Role role = new Role();
+		role.setId(UUID.randomUUID());
+		role.setName(name);
+		role.setPermissions(Arrays.stream(permissions).map(permissionName -> {
+			Permission permission = new Permission();
+			permission.setName(permissionName);
+			return permission;
+		}).collect(Collectors.toSet()));
+		graph.roleSaved(role);
+		return role;
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.system.auth.entity.Permission;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import com.example.starter_project_2025.system.auth.repository.PermissionRepository;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.example.starter_project_2025.support.TestLogins.ADMIN;
+import static com.example.starter_project_2025.support.TestLogins.STUDENT;
+import static com.example.starter_project_2025.support.TestLogins.bearer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.claims-only=true")
+@AutoConfigureMockMvc
+class ClaimsOnlyTokenTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private PermissionRepository permissionRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private String admin;
+
+	@BeforeEach
+	void login() throws Exception {
+		admin = bearer(mockMvc, ADMIN);
+	}
+
+	@Test
+	void removingARolePermissionInvalidatesIssuedTokens() throws Exception {
+		String student = bearer(mockMvc, STUDENT);
+		UUID roleId = roleRepository.findByName("STUDENT").map(Role::getId).orElseThrow();
+		UUID permissionId = permissionRepository.findByName("ROLE_READ").map(Permission::getId).orElseThrow();
+		mockMvc.perform(get("/api/roles").header("Authorization", student)).andExpect(status().isOk());
+
+		try {
+			changeRolePermission(roleId, permissionId, "remove");
+			mockMvc.perform(get("/api/roles").header("Authorization", student)).andExpect(status().isForbidden());
+		} finally {
+			changeRolePermission(roleId, permissionId, "add");
+		}
+		mockMvc.perform(get("/api/roles").header("Authorization", student)).andExpect(status().isOk());
+	}
+
+	@Test
+	void deactivatingAUserInvalidatesIssuedTokens() throws Exception {
+		String student = bearer(mockMvc, STUDENT);
+		UUID userId = userRepository.findByEmail(STUDENT).orElseThrow().getId();
+		mockMvc.perform(get("/api/users/" + userId).header("Authorization", student)).andExpect(status().isOk());
+
+		try {
+			toggleStatus(userId);
+			mockMvc.perform(get("/api/users/" + userId).header("Authorization", student))
+					.andExpect(status().isUnauthorized());
+		} finally {
+			toggleStatus(userId);
+		}
+	}
+
+	@Test
+	void staleTokenIsNotResolvedThroughAReusedEmail() throws Exception {
+		UUID roleId = roleRepository.findByName("STUDENT").map(Role::getId).orElseThrow();
+		UUID renamed = createUser("reused.email@example.com", roleId);
+		UUID other = null;
+		try {
+			String token = bearer(mockMvc, "reused.email@example.com");
+			mockMvc.perform(put("/api/users/" + renamed)
+							.header("Authorization", admin)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"email\":\"renamed.email@example.com\",\"firstName\":\"Reused\",\"lastName\":\"Email\","
+									+ "\"roleId\":\"" + roleId + "\"}"))
+					.andExpect(status().isOk());
+			other = createUser("reused.email@example.com", roleId);
+
+			mockMvc.perform(get("/api/dashboard/stats").header("Authorization", token))
+					.andExpect(status().isUnauthorized());
+		} finally {
+			deleteUser(renamed);
+			if (other != null) {
+				deleteUser(other);
+			}
+		}
+	}
+
+	private UUID createUser(String email, UUID roleId) throws Exception {
+		String body = mockMvc.perform(post("/api/users")
+						.header("Authorization", admin)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + email + "\",\"password\":\"password123\",\"firstName\":\"Reused\","
+								+ "\"lastName\":\"Email\",\"roleId\":\"" + roleId + "\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return UUID.fromString(JsonPath.read(body, "$.id"));
+	}
+
+	private void deleteUser(UUID userId) throws Exception {
+		mockMvc.perform(delete("/api/users/" + userId).header("Authorization", admin));
+	}
+
+	private void changeRolePermission(UUID roleId, UUID permissionId, String change) throws Exception {
+		mockMvc.perform(post("/api/roles/" + roleId + "/permissions/" + change)
+						.header("Authorization", admin)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"permissionIds\":[\"" + permissionId + "\"]}"))
+				.andExpect(status().isOk());
+	}
+
+	private void toggleStatus(UUID userId) throws Exception {
+		mockMvc.perform(post("/api/users/" + userId + "/toggle-status").header("Authorization", admin))
+				.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.starter_project_2025.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledPreAuthorizeTests {
+
+	private static final List<List<String>> AUTHORITY_SETS = List.of(
+			List.of(),
+			List.of("USER_READ"),
+			List.of("USER_UPDATE"),
+			List.of("USER_READ", "USER_UPDATE"),
+			List.of("ROLE_READ", "USER_UPDATE"),
+			List.of("USER_DELETE"),
+			List.of("A,B"),
+			List.of("ROLE_ADMIN"));
+
+	private final PermissionRegistry registry = new PermissionRegistry(null);
+	private final PreAuthorizeAuthorizationManager spel = new PreAuthorizeAuthorizationManager();
+	private final CompiledPreAuthorizeAuthorizationManager compiled =
+			new CompiledPreAuthorizeAuthorizationManager(spel, () -> registry, true);
+
+	@Test
+	void parsesOnlyPlainAuthorityChecks() {
+		assertArrayEquals(new String[]{"USER_READ"}, CompiledPreAuthorizeAuthorizationManager.parse(" hasAuthority( 'USER_READ' ) "));
+		assertArrayEquals(new String[]{"USER_READ", "USER_UPDATE"},
+				CompiledPreAuthorizeAuthorizationManager.parse("hasAnyAuthority('USER_READ' ,'USER_UPDATE')"));
+		assertArrayEquals(new String[]{"A,B", "C"}, CompiledPreAuthorizeAuthorizationManager.parse("hasAnyAuthority('A,B', 'C')"));
+
+		for (String expression : List.of(
+				"hasAuthority('USER_READ') and hasAuthority('USER_UPDATE')",
+				"hasAuthority('USER_READ') or hasAuthority('USER_UPDATE')",
+				"!hasAuthority('USER_READ')",
+				"not hasAuthority('USER_READ')",
+				"(hasAuthority('USER_READ'))",
+				"hasAnyAuthority('USER_READ', 'USER_UPDATE') and isAuthenticated()",
+				"hasRole('ADMIN')",
+				"hasAuthority(\"USER_READ\")",
+				"hasAuthority('')")) {
+			assertNull(CompiledPreAuthorizeAuthorizationManager.parse(expression), expression);
+		}
+	}
+
+	@Test
+	void decidesLikeSpelForEveryExpressionAndAuthoritySet() {
+		Secured target = new Secured();
+		for (Method method : Secured.class.getDeclaredMethods()) {
+			SimpleMethodInvocation invocation = new SimpleMethodInvocation(target, method);
+			for (List<String> authorities : AUTHORITY_SETS) {
+				for (Authentication authentication : List.of(byName(authorities), byBits(authorities))) {
+					String description = method.getName() + " with " + authorities + " as "
+							+ authentication.getPrincipal().getClass().getSimpleName();
+					assertEquals(spel.check(() -> authentication, invocation).isGranted(),
+							compiled.check(() -> authentication, invocation).isGranted(), description);
+				}
+			}
+		}
+	}
+
+	@Test
+	void grantsAndDeniesSimpleChecks() throws NoSuchMethodException {
+		SimpleMethodInvocation single = new SimpleMethodInvocation(new Secured(), Secured.class.getMethod("single"));
+		SimpleMethodInvocation any = new SimpleMethodInvocation(new Secured(), Secured.class.getMethod("any"));
+
+		assertTrue(compiled.check(() -> byBits(List.of("USER_READ")), single).isGranted());
+		assertFalse(compiled.check(() -> byBits(List.of("USER_UPDATE")), single).isGranted());
+		assertTrue(compiled.check(() -> byBits(List.of("USER_UPDATE")), any).isGranted());
+		assertFalse(compiled.check(() -> byBits(List.of("ROLE_READ")), any).isGranted());
+		assertFalse(compiled.check(() -> null, single).isGranted());
+	}
+
+	private Authentication byName(List<String> authorities) {
+		return new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.createAuthorityList(authorities));
+	}
+
+	private Authentication byBits(List<String> authorities) {
+		UserDetailsImpl principal = UserDetailsImpl.fromClaims(UUID.randomUUID(), "user@example.com", "USER",
+				authorities, registry);
+		return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+	}
+
+	static class Secured {
+
+		@PreAuthorize("hasAuthority('USER_READ')")
+		public void single() {
+		}
+
+		@PreAuthorize("hasAnyAuthority('USER_READ', 'USER_UPDATE')")
+		public void any() {
+		}
+
+		@PreAuthorize("hasAnyAuthority('A,B')")
+		public void quotedComma() {
+		}
+
+		@PreAuthorize("hasAuthority('USER_READ') and hasAuthority('USER_UPDATE')")
+		public void and() {
+		}
+
+		@PreAuthorize("hasAuthority('USER_READ') or hasAuthority('USER_UPDATE')")
+		public void or() {
+		}
+
+		@PreAuthorize("!hasAuthority('USER_DELETE')")
+		public void not() {
+		}
+
+		@PreAuthorize("(hasAuthority('USER_READ') or hasAuthority('ROLE_READ')) and hasAuthority('USER_UPDATE')")
+		public void parentheses() {
+		}
+
+		@PreAuthorize("hasRole('ADMIN')")
+		public void unsupported() {
+		}
+	}
+}
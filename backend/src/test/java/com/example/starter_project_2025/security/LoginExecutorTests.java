@@ -0,0 +1,84 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginExecutorTests {
+
+	private final LoginExecutor executor = new LoginExecutor();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(executor, "threads", 1);
+		ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+		ReflectionTestUtils.setField(executor, "timeoutMs", 5000L);
+		ReflectionTestUtils.setField(executor, "retryAfterSeconds", 2L);
+		executor.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void rejectsImmediatelyWhenLaneIsSaturated() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> running = callers.submit(() -> executor.execute(() -> {
+				started.countDown();
+				release.await();
+				return "first";
+			}));
+			assertTrue(started.await(5, TimeUnit.SECONDS), "first login never started");
+			Future<String> queued = callers.submit(() -> executor.execute(() -> "second"));
+			awaitQueued();
+
+			long startedAt = System.nanoTime();
+			TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+					() -> executor.execute(() -> "third"));
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 100);
+			assertEquals(2L, ex.getRetryAfterSeconds());
+
+			release.countDown();
+			assertEquals("first", running.get(5, TimeUnit.SECONDS));
+			assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+			assertEquals(1L, executor.getStats().get("rejected"));
+		} finally {
+			release.countDown();
+			callers.shutdownNow();
+		}
+	}
+
+	@Test
+	void propagatesAuthenticationFailures() {
+		assertThrows(BadCredentialsException.class, () -> executor.execute(() -> {
+			throw new BadCredentialsException("bad");
+		}));
+	}
+
+	/**
+	 * The queue offers no hook for "task enqueued", so poll its depth with a deadline.
+	 */
+	private void awaitQueued() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (executor.getStats().get("queueDepth").equals(0)) {
+			assertTrue(System.nanoTime() < deadline, "second login was never queued");
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.starter_project_2025.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionSetTests {
+
+	@Test
+	void containsOnlyGrantedPermissions() {
+		PermissionRegistry registry = new PermissionRegistry(null);
+		IntStream.range(0, 70).forEach(i -> registry.ordinalOf("P" + i));
+
+		PermissionSet set = registry.toPermissionSet(List.of("P1", "P64", "P69"));
+
+		assertEquals(3, set.size());
+		assertTrue(set.contains("P64"));
+		assertFalse(set.contains("P2"));
+		assertFalse(set.contains("UNKNOWN"));
+		assertTrue(set.asAuthorities().contains(new SimpleGrantedAuthority("P69")));
+		assertEquals(List.of("P1", "P64", "P69"),
+				set.asAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+	}
+
+	@Test
+	void equalityIgnoresTrailingEmptyWords() {
+		PermissionRegistry registry = new PermissionRegistry(null);
+		PermissionSet small = registry.toPermissionSet(List.of("A"));
+		IntStream.range(0, 100).forEach(i -> registry.ordinalOf("X" + i));
+		PermissionSet large = registry.toPermissionSet(List.of("A"));
+
+		assertEquals(small, large);
+		assertEquals(small.hashCode(), large.hashCode());
+	}
+
+	@Test
+	void base64UrlRoundTripsUnderSameCatalogVersion() {
+		PermissionRegistry registry = new PermissionRegistry(null);
+		IntStream.range(0, 70).forEach(i -> registry.ordinalOf("P" + i));
+		PermissionSet set = registry.toPermissionSet(List.of("P0", "P9", "P69"));
+		String version = registry.catalogVersion();
+
+		assertEquals(set, registry.decode(set.toBase64Url(), version));
+		assertNull(registry.decode(set.toBase64Url(), "70.tampered"));
+		assertNull(registry.decode(set.toBase64Url(), "71." + version.substring(3)));
+		assertNull(registry.decode(set.toBase64Url(), "garbage"));
+	}
+
+	@Test
+	void tokensStillDecodeAfterUnrelatedNamesAreRegistered() {
+		PermissionRegistry registry = new PermissionRegistry(null);
+		IntStream.range(0, 10).forEach(i -> registry.ordinalOf("P" + i));
+		PermissionSet set = registry.toPermissionSet(List.of("P1", "P9"));
+		String version = registry.catalogVersion();
+
+		registry.ordinalOf("ONLY_IN_A_ROUTE_TABLE");
+		assertNotEquals(version, registry.catalogVersion());
+		assertEquals(set, registry.decode(set.toBase64Url(), version));
+
+		PermissionSet wider = registry.toPermissionSet(List.of("P1", "ONLY_IN_A_ROUTE_TABLE"));
+		assertNull(registry.decode(wider.toBase64Url(), version));
+		assertEquals(wider, registry.decode(wider.toBase64Url(), registry.catalogVersion()));
+	}
+
+	@Test
+	void anotherAssignmentOrderDoesNotDecode() {
+		PermissionRegistry first = new PermissionRegistry(null);
+		PermissionRegistry second = new PermissionRegistry(null);
+		List.of("A", "B").forEach(first::ordinalOf);
+		List.of("B", "A").forEach(second::ordinalOf);
+		PermissionSet set = first.toPermissionSet(List.of("A"));
+
+		assertNull(second.decode(set.toBase64Url(), first.catalogVersion()));
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.exception.BadRequestException;
+import com.example.starter_project_2025.system.auth.entity.Permission;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleHierarchyGraphTests {
+
+	private final RoleHierarchyGraph graph = new RoleHierarchyGraph(null, null, new PermissionRegistry(null));
+
+	@Test
+	void childrenInheritEveryAncestorsPermissions() {
+		Role base = role("BASE", "USER_READ");
+		Role editor = role("EDITOR", "USER_UPDATE");
+		Role auditor = role("AUDITOR", "AUDIT_READ");
+		Role lead = role("LEAD", "ROLE_READ");
+		graph.reserveEdge(base.getId(), editor.getId());
+		graph.reserveEdge(editor.getId(), lead.getId());
+		graph.reserveEdge(auditor.getId(), lead.getId());
+
+		assertEquals(Set.of("USER_READ", "USER_UPDATE", "AUDIT_READ", "ROLE_READ"),
+				graph.effectivePermissions(lead).names());
+		assertEquals(Set.of("BASE", "EDITOR", "AUDITOR"), graph.view(lead.getId()).ancestors());
+		assertEquals(Set.of("EDITOR", "LEAD"), graph.descendantNames(base.getId()));
+
+		base.getPermissions().add(permission("USER_CREATE"));
+		graph.roleSaved(base);
+		assertTrue(graph.effectivePermissions(lead).contains("USER_CREATE"));
+
+		graph.edgeRemoved(editor.getId(), lead.getId());
+		assertEquals(Set.of("AUDIT_READ", "ROLE_READ"), graph.effectivePermissions(lead).names());
+		assertEquals(Set.of("AUDITOR"), graph.view(lead.getId()).ancestors());
+	}
+
+	@Test
+	void rejectsCyclesAndDuplicateEdges() {
+		Role a = role("A");
+		Role b = role("B");
+		Role c = role("C");
+		graph.reserveEdge(a.getId(), b.getId());
+		graph.reserveEdge(b.getId(), c.getId());
+
+		assertThrows(BadRequestException.class, () -> graph.reserveEdge(c.getId(), a.getId()));
+		assertThrows(BadRequestException.class, () -> graph.reserveEdge(a.getId(), a.getId()));
+		assertThrows(BadRequestException.class, () -> graph.reserveEdge(a.getId(), b.getId()));
+		assertEquals(Set.of(), graph.view(a.getId()).ancestors());
+	}
+
+	@Test
+	void deletingARoleDetachesItsChildren() {
+		Role parent = role("PARENT", "MENU_READ");
+		Role child = role("CHILD", "MENU_UPDATE");
+		graph.reserveEdge(parent.getId(), child.getId());
+
+		graph.roleDeleted(parent.getId());
+		graph.permissionRenamed("MENU_UPDATE", "MENU_EDIT");
+
+		assertEquals(Set.of("MENU_EDIT"), graph.effectivePermissions(child).names());
+		assertEquals(Set.of(), graph.view(child.getId()).parents());
+		assertNull(graph.view(parent.getId()));
+	}
+
+	private Role role(String name, String... permissions) {
+		Role role = new Role();
+		role.setId(UUID.randomUUID());
+		role.setName(name);
+		role.setPermissions(Arrays.stream(permissions).map(this::permission).collect(Collectors.toSet()));
+		graph.roleSaved(role);
+		return role;
+	}
+
+	private Permission permission(String name) {
+		Permission permission = new Permission();
+		permission.setName(name);
+		return permission;
+	}
+}
@@ -0,0 +1,122 @@
+package com.example.starter_project_2025.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * Sends one request per route-table entry with a token holding only the
+ * required permission and with a token holding an unrelated one. Tokens are
+ * trusted on their claims, so each carries exactly the permissions under test.
+ */
+@SpringBootTest(properties = "jwt.claims-only=true")
+@AutoConfigureMockMvc
+class RouteAuthorizationTests {
+
+	private static final String ID = UUID.randomUUID().toString();
+
+	private static final List<Route> ROUTES = List.of(
+			new Route(HttpMethod.GET, "/api/menus/" + ID, "MENU_READ"),
+			new Route(HttpMethod.GET, "/api/menus/list", "MENU_READ"),
+			new Route(HttpMethod.POST, "/api/menus/" + ID + "/toggle-status", "MENU_UPDATE"),
+			new Route(HttpMethod.POST, "/api/menus", "MENU_CREATE"),
+			new Route(HttpMethod.PUT, "/api/menus/" + ID, "MENU_UPDATE"),
+			new Route(HttpMethod.DELETE, "/api/menus/" + ID, "MENU_DELETE"),
+			new Route(HttpMethod.PATCH, "/api/menus/" + ID, "MENU_CREATE"),
+
+			new Route(HttpMethod.GET, "/api/menu-items/" + ID, "MENU_ITEM_READ"),
+			new Route(HttpMethod.POST, "/api/menu-items/" + ID + "/toggle-status", "MENU_ITEM_UPDATE"),
+			new Route(HttpMethod.POST, "/api/menu-items", "MENU_ITEM_CREATE"),
+			new Route(HttpMethod.PUT, "/api/menu-items/" + ID, "MENU_ITEM_UPDATE"),
+			new Route(HttpMethod.DELETE, "/api/menu-items/" + ID, "MENU_ITEM_DELETE"),
+			new Route(HttpMethod.PATCH, "/api/menu-items/" + ID, "MENU_ITEM_DELETE"),
+
+			new Route(HttpMethod.GET, "/api/users/import/" + ID, "USER_CREATE"),
+			new Route(HttpMethod.GET, "/api/users/" + ID, "USER_READ"),
+			new Route(HttpMethod.POST, "/api/users/" + ID + "/toggle-status", "USER_ACTIVATE"),
+			new Route(HttpMethod.POST, "/api/users/" + ID + "/assign-role", "ROLE_ASSIGN"),
+			new Route(HttpMethod.POST, "/api/users", "USER_CREATE"),
+			new Route(HttpMethod.POST, "/api/users/bulk", "USER_CREATE"),
+			new Route(HttpMethod.POST, "/api/users/import", "USER_CREATE"),
+			new Route(HttpMethod.PUT, "/api/users/" + ID, "USER_UPDATE"),
+			new Route(HttpMethod.DELETE, "/api/users/" + ID, "USER_DELETE"),
+			new Route(HttpMethod.PATCH, "/api/users/" + ID, "USER_UPDATE"),
+
+			new Route(HttpMethod.GET, "/api/roles/" + ID, "ROLE_READ"),
+			new Route(HttpMethod.POST, "/api/roles/" + ID + "/toggle-status", "ROLE_UPDATE"),
+			new Route(HttpMethod.POST, "/api/roles/" + ID + "/permissions/add", "ROLE_UPDATE"),
+			new Route(HttpMethod.POST, "/api/roles/" + ID + "/parents/" + ID, "ROLE_UPDATE"),
+			new Route(HttpMethod.DELETE, "/api/roles/" + ID + "/parents/" + ID, "ROLE_UPDATE"),
+			new Route(HttpMethod.POST, "/api/roles", "ROLE_CREATE"),
+			new Route(HttpMethod.PUT, "/api/roles/" + ID, "ROLE_UPDATE"),
+			new Route(HttpMethod.DELETE, "/api/roles/" + ID, "ROLE_DELETE"),
+			new Route(HttpMethod.PATCH, "/api/roles/" + ID, "ROLE_READ"),
+
+			new Route(HttpMethod.GET, "/api/permissions/" + ID, "ROLE_READ"),
+			new Route(HttpMethod.POST, "/api/permissions", "ROLE_CREATE"),
+			new Route(HttpMethod.PUT, "/api/permissions/" + ID, "ROLE_UPDATE"),
+			new Route(HttpMethod.DELETE, "/api/permissions/" + ID, "ROLE_DELETE"),
+			new Route(HttpMethod.PATCH, "/api/permissions/" + ID, "ROLE_CREATE"),
+
+			new Route(HttpMethod.GET, "/api/monitoring/security", "SYSTEM_MONITOR"));
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private PermissionRegistry permissionRegistry;
+
+	@Test
+	void eachRouteNeedsItsPermission() throws Exception {
+		for (Route route : ROUTES) {
+			String unrelated = route.permission().equals("SYSTEM_MONITOR") ? "MENU_READ" : "SYSTEM_MONITOR";
+			int granted = status(route, token(route.permission()));
+			int denied = status(route, token(unrelated));
+
+			assertNotEquals(403, granted, route + " with " + route.permission());
+			assertNotEquals(401, granted, route + " with " + route.permission());
+			assertEquals(403, denied, route + " with " + unrelated);
+		}
+	}
+
+	@Test
+	void menuReadsNeedMenuReadExceptActiveMenus() throws Exception {
+		String noPermissions = token();
+		assertEquals(403, status(new Route(HttpMethod.GET, "/api/menus", null), noPermissions));
+		assertEquals(200, status(new Route(HttpMethod.GET, "/api/menus/active", null), noPermissions));
+	}
+
+	@Test
+	void unmatchedRoutesOnlyNeedAuthentication() throws Exception {
+		Route dashboard = new Route(HttpMethod.GET, "/api/dashboard/stats", null);
+		assertEquals(200, status(dashboard, token()));
+		assertEquals(401, mockMvc.perform(request(dashboard.method(), dashboard.path()))
+				.andReturn().getResponse().getStatus());
+	}
+
+	private int status(Route route, String token) throws Exception {
+		return mockMvc.perform(request(route.method(), route.path()).header("Authorization", token))
+				.andReturn().getResponse().getStatus();
+	}
+
+	private String token(String... permissions) {
+		UserDetailsImpl principal = UserDetailsImpl.fromClaims(UUID.randomUUID(), "route.test@example.com",
+				"ROUTE_TEST", List.of(permissions), permissionRegistry);
+		return "Bearer " + jwtUtil.generateToken(principal);
+	}
+
+	private record Route(HttpMethod method, String path, String permission) {
+	}
+}
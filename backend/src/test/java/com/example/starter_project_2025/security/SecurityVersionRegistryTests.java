@@ -0,0 +1,60 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.security.event.RoleSecurityChangedEvent;
+import com.example.starter_project_2025.security.event.UserSecurityChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityVersionRegistryTests {
+
+	private final SecurityVersionRegistry registry = registry(3);
+
+	@Test
+	void tokensIssuedBeforeAChangeAreStale() throws InterruptedException {
+		Thread.sleep(5);
+		Date issued = new Date();
+		UUID user = UUID.randomUUID();
+		assertTrue(registry.isCurrent(user, "STUDENT", issued));
+
+		Thread.sleep(5);
+		registry.onRoleChanged(new RoleSecurityChangedEvent("STUDENT"));
+		assertFalse(registry.isCurrent(user, "STUDENT", issued));
+		assertTrue(registry.isCurrent(UUID.randomUUID(), "ADMIN", issued));
+
+		registry.onUserChanged(new UserSecurityChangedEvent(user, "user@example.com"));
+		assertFalse(registry.isCurrent(user, "ADMIN", issued));
+	}
+
+	@Test
+	void tokensIssuedBeforeStartupAreStale() {
+		assertFalse(registry.isCurrent(UUID.randomUUID(), "STUDENT", new Date(System.currentTimeMillis() - 60_000)));
+	}
+
+	@Test
+	void overflowDropsStampsButKeepsOlderTokensStale() throws InterruptedException {
+		Thread.sleep(5);
+		Date issued = new Date();
+		Thread.sleep(5);
+		UUID user = UUID.randomUUID();
+		registry.onUserChanged(new UserSecurityChangedEvent(user, "user@example.com"));
+		for (int i = 0; i < 10; i++) {
+			registry.onRoleChanged(new RoleSecurityChangedEvent("ROLE_" + i));
+		}
+
+		assertTrue(registry.size() <= 3);
+		assertFalse(registry.isCurrent(user, "STUDENT", issued));
+		assertFalse(registry.isCurrent(UUID.randomUUID(), "STUDENT", issued));
+	}
+
+	private static SecurityVersionRegistry registry(int maxEntries) {
+		SecurityVersionRegistry registry = new SecurityVersionRegistry();
+		ReflectionTestUtils.setField(registry, "maxEntries", maxEntries);
+		ReflectionTestUtils.setField(registry, "tokenLifetimeMs", 900_000L);
+		return registry;
+	}
+}
@@ -0,0 +1,34 @@
+package com.example.starter_project_2025.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationStoreTests {
+
+	@Test
+	void falsePositiveRateCountsOnlyTokensThatAreNotRevoked() {
+		TokenRevocationStore store = new TokenRevocationStore();
+		ReflectionTestUtils.setField(store, "expectedEntries", 1L);
+		ReflectionTestUtils.setField(store, "falsePositiveRate", 0.5);
+		ReflectionTestUtils.invokeMethod(store, "init");
+
+		store.revoke("revoked", System.currentTimeMillis() + 60_000);
+		for (int i = 0; i < 10; i++) {
+			assertTrue(store.isRevoked("revoked"));
+		}
+		int absent = 200;
+		for (int i = 0; i < absent; i++) {
+			assertFalse(store.isRevoked("active-" + i));
+		}
+
+		Map<String, Object> stats = store.getStats();
+		long falsePositives = (long) stats.get("falsePositives");
+		assertTrue(falsePositives > 0);
+		assertEquals(210L, stats.get("checks"));
+		assertEquals((double) falsePositives / absent, (double) stats.get("observedFalsePositiveRate"));
+	}
+}
@@ -0,0 +1,111 @@
+package com.example.starter_project_2025.security;
+
+import com.example.starter_project_2025.support.TestAuthentication;
+import com.example.starter_project_2025.system.auth.dto.PermissionDTO;
+import com.example.starter_project_2025.system.auth.entity.Permission;
+import com.example.starter_project_2025.system.auth.repository.PermissionRepository;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.example.starter_project_2025.system.auth.service.PermissionService;
+import com.example.starter_project_2025.system.auth.service.RoleService;
+import com.example.starter_project_2025.system.user.dto.UserDTO;
+import com.example.starter_project_2025.system.user.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserDetailsCacheTests {
+
+	private static final String STUDENT = "student@example.com";
+
+	@Autowired
+	private UserDetailsServiceImpl userDetailsService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private RoleService roleService;
+
+	@Autowired
+	private PermissionService permissionService;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private PermissionRepository permissionRepository;
+
+	@BeforeEach
+	void authenticate() {
+		TestAuthentication.authenticate("USER_UPDATE", "ROLE_UPDATE");
+	}
+
+	@AfterEach
+	void clearAuthentication() {
+		TestAuthentication.clear();
+	}
+
+	@Test
+	void cachesPrincipalsWithoutPasswordHash() {
+		UserDetailsImpl principal = userDetailsService.loadPrincipal(STUDENT);
+		assertNull(principal.getPassword());
+		assertSame(principal, userDetailsService.loadPrincipal(STUDENT));
+
+		assertNotNull(userDetailsService.loadUserByUsername(STUDENT).getPassword());
+		assertNull(userDetailsService.loadPrincipal(STUDENT).getPassword());
+	}
+
+	@Test
+	void userChangeEvictsThePrincipal() {
+		UserDetailsImpl principal = userDetailsService.loadPrincipal(STUDENT);
+
+		UserDTO update = new UserDTO();
+		update.setFirstName(principal.getFirstName());
+		userService.updateUser(principal.getId(), update);
+
+		assertNotSame(principal, userDetailsService.loadPrincipal(STUDENT));
+	}
+
+	@Test
+	void roleChangeEvictsPrincipalsOfThatRole() {
+		UserDetailsImpl principal = userDetailsService.loadPrincipal(STUDENT);
+		UserDetailsImpl admin = userDetailsService.loadPrincipal("admin@example.com");
+
+		UUID roleId = roleRepository.findByName("STUDENT").orElseThrow().getId();
+		try {
+			roleService.toggleRoleStatus(roleId);
+			assertNotSame(principal, userDetailsService.loadPrincipal(STUDENT));
+			assertSame(admin, userDetailsService.loadPrincipal("admin@example.com"));
+		} finally {
+			roleService.toggleRoleStatus(roleId);
+		}
+	}
+
+	@Test
+	void permissionRenameEvictsPrincipalsHoldingIt() {
+		Permission permission = permissionRepository.findByName("MENU_ITEM_READ").orElseThrow();
+		UserDetailsImpl principal = userDetailsService.loadPrincipal(STUDENT);
+
+		try {
+			rename(permission.getId(), "MENU_ITEM_VIEW");
+			UserDetailsImpl renamed = userDetailsService.loadPrincipal(STUDENT);
+			assertNotSame(principal, renamed);
+			assertTrue(renamed.hasPermission("MENU_ITEM_VIEW"));
+		} finally {
+			rename(permission.getId(), "MENU_ITEM_READ");
+		}
+	}
+
+	private void rename(UUID permissionId, String name) {
+		PermissionDTO update = new PermissionDTO();
+		update.setName(name);
+		permissionService.updatePermission(permissionId, update);
+	}
+}
@@ -0,0 +1,24 @@
+package com.example.starter_project_2025.support;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Puts a caller with the given permissions into the security context, for
+ * service tests that go through {@code @PreAuthorize} without a request.
+ */
+public final class TestAuthentication {
+
+	private TestAuthentication() {
+	}
+
+	public static void authenticate(String... permissions) {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"admin", null, AuthorityUtils.createAuthorityList(permissions)));
+	}
+
+	public static void clear() {
+		SecurityContextHolder.clearContext();
+	}
+}
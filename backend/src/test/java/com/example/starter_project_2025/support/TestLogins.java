@@ -0,0 +1,30 @@
+package com.example.starter_project_2025.support;
+
+import com.jayway.jsonpath.JsonPath;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Logs a seeded user in through {@code /api/auth/login} and returns the
+ * {@code Authorization} header value for later requests.
+ */
+public final class TestLogins {
+
+	public static final String ADMIN = "admin@example.com";
+	public static final String STUDENT = "student@example.com";
+
+	private TestLogins() {
+	}
+
+	public static String bearer(MockMvc mockMvc, String email) throws Exception {
+		String body = mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return "Bearer " + JsonPath.read(body, "$.token");
+	}
+}
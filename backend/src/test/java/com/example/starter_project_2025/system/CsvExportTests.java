@@ -0,0 +1,131 @@
+package com.example.starter_project_2025.system;
+
+import com.example.starter_project_2025.security.JwtUtil;
+import com.example.starter_project_2025.security.PermissionRegistry;
+import com.example.starter_project_2025.security.UserDetailsImpl;
+import com.example.starter_project_2025.support.TestAuthentication;
+import com.example.starter_project_2025.system.auth.service.PermissionService;
+import com.example.starter_project_2025.system.auth.service.RoleService;
+import com.example.starter_project_2025.system.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * CSV exports authorize when the endpoint is called but read their rows later,
+ * on the async thread that writes the response body.
+ */
+@SpringBootTest(properties = "jwt.claims-only=true")
+@AutoConfigureMockMvc
+class CsvExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private PermissionRegistry permissionRegistry;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private RoleService roleService;
+
+	@Autowired
+	private PermissionService permissionService;
+
+	@Test
+	void streamsHeaderAndRows() throws Exception {
+		assertCsv("/api/users/export", "USER_READ", "ID,Email,First Name,Last Name,Role,Is Active,Created At,Updated At",
+				"admin@example.com");
+		assertCsv("/api/roles/export", "ROLE_READ", "ID,Name,Description,Hierarchy Level,Is Active,Permissions,Created At,Updated At",
+				"STUDENT");
+		assertCsv("/api/permissions/export", "ROLE_READ", "ID,Name,Description,Resource,Action",
+				"USER_READ");
+	}
+
+	@Test
+	void deniedBeforeAnyBytesAreWritten() throws Exception {
+		for (String path : List.of("/api/users/export", "/api/roles/export", "/api/permissions/export")) {
+			MvcResult result = mockMvc.perform(get(path).header("Authorization", token("MENU_READ"))).andReturn();
+
+			assertEquals(403, result.getResponse().getStatus(), path);
+			assertFalse(result.getRequest().isAsyncStarted(), path);
+			assertFalse(result.getResponse().getContentAsString().startsWith("ID,"), path);
+		}
+	}
+
+	@Test
+	void rowsAreReadInsideReadOnlyTransaction() throws Exception {
+		TestAuthentication.authenticate("USER_READ", "ROLE_READ");
+		List<StreamingResponseBody> bodies;
+		try {
+			bodies = List.of(userService.exportUsersCsv(), roleService.exportRolesCsv(),
+					permissionService.exportPermissionsCsv());
+		} finally {
+			TestAuthentication.clear();
+		}
+
+		for (StreamingResponseBody body : bodies) {
+			List<Boolean> readOnly = new ArrayList<>();
+			body.writeTo(recording(() -> TransactionSynchronizationManager.isActualTransactionActive()
+					&& TransactionSynchronizationManager.isCurrentTransactionReadOnly(), readOnly));
+
+			assertFalse(readOnly.isEmpty());
+			assertTrue(readOnly.stream().allMatch(Boolean::booleanValue));
+			assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+		}
+	}
+
+	private void assertCsv(String path, String permission, String header, String value) throws Exception {
+		MvcResult result = mockMvc.perform(get(path).header("Authorization", token(permission))).andReturn();
+		assertTrue(result.getRequest().isAsyncStarted(), path);
+		result.getAsyncResult();
+
+		MockHttpServletResponse response = result.getResponse();
+		String[] lines = response.getContentAsString().split("\r?\n");
+		assertEquals(200, response.getStatus(), path);
+		assertTrue(response.getContentType().startsWith("text/csv"), path);
+		assertEquals(header, lines[0], path);
+		assertTrue(lines.length > 1, path);
+		assertTrue(response.getContentAsString().contains(value), path);
+	}
+
+	private static OutputStream recording(Supplier<Boolean> probe, List<Boolean> seen) {
+		return new OutputStream() {
+			@Override
+			public void write(int b) {
+				seen.add(probe.get());
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				seen.add(probe.get());
+			}
+		};
+	}
+
+	private String token(String... permissions) {
+		UserDetailsImpl principal = UserDetailsImpl.fromClaims(UUID.randomUUID(), "export.test@example.com",
+				"EXPORT_TEST", List.of(permissions), permissionRegistry);
+		return "Bearer " + jwtUtil.generateToken(principal);
+	}
+}
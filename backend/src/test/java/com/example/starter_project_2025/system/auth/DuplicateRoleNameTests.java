@@ -0,0 +1,72 @@
+package com.example.starter_project_2025.system.auth;
+
+import com.example.starter_project_2025.security.JwtUtil;
+import com.example.starter_project_2025.security.PermissionRegistry;
+import com.example.starter_project_2025.security.UserDetailsImpl;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * A role written behind the name filter's back, as by a concurrent writer, is
+ * only caught by the unique constraint; that must still read as a duplicate.
+ */
+@SpringBootTest(properties = "jwt.claims-only=true")
+@AutoConfigureMockMvc
+class DuplicateRoleNameTests {
+
+	private static final String NAME = "UNFILTERED_ROLE";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private PermissionRegistry permissionRegistry;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@AfterEach
+	void deleteRole() {
+		roleRepository.findByName(NAME).ifPresent(roleRepository::delete);
+	}
+
+	@Test
+	void uniqueViolationIsReportedAsBadRequest() throws Exception {
+		Role role = new Role();
+		role.setName(NAME);
+		roleRepository.save(role);
+
+		MockHttpServletResponse response = mockMvc.perform(post("/api/roles")
+						.header("Authorization", token("ROLE_CREATE"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"" + NAME + "\"}"))
+				.andReturn().getResponse();
+
+		assertEquals(400, response.getStatus());
+		assertEquals(400, (int) JsonPath.read(response.getContentAsString(), "$.status"));
+	}
+
+	private String token(String... permissions) {
+		UserDetailsImpl principal = UserDetailsImpl.fromClaims(UUID.randomUUID(), "duplicate.test@example.com",
+				"DUPLICATE_TEST", List.of(permissions), permissionRegistry);
+		return "Bearer " + jwtUtil.generateToken(principal);
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.starter_project_2025.system.auth;
+
+import com.example.starter_project_2025.system.auth.dto.PermissionDTO;
+import com.example.starter_project_2025.system.auth.service.PermissionCatalog;
+import com.example.starter_project_2025.system.auth.service.PermissionService;
+import com.example.starter_project_2025.support.TestAuthentication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PermissionCatalogTests {
+
+	@Autowired
+	private PermissionCatalog permissionCatalog;
+
+	@Autowired
+	private PermissionService permissionService;
+
+	@BeforeEach
+	void authenticate() {
+		TestAuthentication.authenticate("ROLE_READ", "ROLE_CREATE", "ROLE_DELETE");
+	}
+
+	@AfterEach
+	void clearAuthentication() {
+		TestAuthentication.clear();
+	}
+
+	@Test
+	void republishesTheSnapshotOnlyAfterCatalogEdits() {
+		permissionCatalog.rebuild();
+		PermissionCatalog.Snapshot before = permissionCatalog.current();
+		assertSame(before, permissionCatalog.current());
+		assertTrue(before.byName().containsKey("USER_READ"));
+
+		permissionCatalog.rebuild();
+		assertNotSame(before, permissionCatalog.current());
+		assertEquals(before.listJson().etag(), permissionCatalog.current().listJson().etag());
+
+		PermissionDTO request = new PermissionDTO();
+		request.setName("REPORT_EXPORT");
+		request.setResource("REPORT");
+		request.setAction("EXPORT");
+		PermissionDTO created = permissionService.createPermission(request);
+
+		PermissionCatalog.Snapshot after = permissionCatalog.current();
+		assertTrue(after.version() > before.version());
+		assertNotEquals(before.listJson().etag(), after.listJson().etag());
+		assertEquals(created.getId(), after.byName().get("REPORT_EXPORT").getId());
+		assertEquals(1, after.byResource().get("REPORT").size());
+		assertTrue(new String(after.byResourceJson().body(), StandardCharsets.UTF_8).contains("\"REPORT\":["));
+
+		permissionService.deletePermission(created.getId());
+		assertFalse(permissionCatalog.current().byName().containsKey("REPORT_EXPORT"));
+		assertEquals(before.listJson().etag(), permissionCatalog.current().listJson().etag());
+	}
+
+	@Test
+	void handsOutCopiesOfTheSnapshotDTOs() {
+		PermissionDTO shared = permissionCatalog.current().byName().get("USER_READ");
+
+		PermissionDTO byId = permissionService.getPermissionById(shared.getId());
+		byId.setName("CHANGED");
+		permissionService.getPermissionsByResource(shared.getResource()).forEach(p -> p.setDescription("changed"));
+		permissionService.getAllPermissionsList().forEach(p -> p.setAction("CHANGED"));
+
+		assertEquals("USER_READ", permissionCatalog.current().byId().get(shared.getId()).getName());
+		assertNotEquals("changed", shared.getDescription());
+		assertNotEquals("CHANGED", shared.getAction());
+	}
+}
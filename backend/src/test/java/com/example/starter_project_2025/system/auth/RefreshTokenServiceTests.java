@@ -0,0 +1,88 @@
+package com.example.starter_project_2025.system.auth;
+
+import com.example.starter_project_2025.exception.UnauthorizedException;
+import com.example.starter_project_2025.system.auth.entity.RefreshToken;
+import com.example.starter_project_2025.system.auth.repository.RefreshTokenRepository;
+import com.example.starter_project_2025.system.auth.service.RefreshTokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RefreshTokenServiceTests {
+
+	@Autowired
+	private RefreshTokenService refreshTokenService;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void rotatesWithinTheSameFamily() {
+		UUID userId = UUID.randomUUID();
+		String first = refreshTokenService.issue(userId);
+
+		RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+		RefreshTokenService.Rotation next = refreshTokenService.rotate(rotation.refreshToken());
+
+		assertEquals(userId, rotation.userId());
+		assertNotEquals(first, rotation.refreshToken());
+		assertEquals(rotation.familyId(), next.familyId());
+	}
+
+	@Test
+	void reuseRevokesTheFamilyDurably() {
+		String first = refreshTokenService.issue(UUID.randomUUID());
+		RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+		assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(first));
+		assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(rotation.refreshToken()));
+		assertTrue(refreshTokenRepository.findAll().stream()
+				.filter(token -> token.getFamilyId().equals(rotation.familyId()))
+				.allMatch(RefreshToken::getRevoked));
+
+		// A restart reloads the index from the database, where the family stays revoked
+		refreshTokenService.loadIndex();
+		assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(rotation.refreshToken()));
+	}
+
+	@Test
+	void rolledBackRotationReleasesTheToken() {
+		String first = refreshTokenService.issue(UUID.randomUUID());
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			refreshTokenService.rotate(first);
+			status.setRollbackOnly();
+		});
+
+		assertNotNull(refreshTokenService.rotate(first).refreshToken());
+	}
+
+	@Test
+	void expiredTokensAreRejected() throws InterruptedException {
+		RefreshTokenService target = AopTestUtils.getTargetObject(refreshTokenService);
+		Object expiration = ReflectionTestUtils.getField(target, "refreshExpiration");
+		String token;
+		try {
+			ReflectionTestUtils.setField(target, "refreshExpiration", 1L);
+			token = refreshTokenService.issue(UUID.randomUUID());
+		} finally {
+			ReflectionTestUtils.setField(target, "refreshExpiration", expiration);
+		}
+		Thread.sleep(10);
+
+		UnauthorizedException ex = assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(token));
+		assertEquals("Refresh token has expired", ex.getMessage());
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.starter_project_2025.system.user;
+
+import com.example.starter_project_2025.support.TestAuthentication;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.example.starter_project_2025.system.user.dto.BulkCreateUsersResponse;
+import com.example.starter_project_2025.system.user.dto.BulkUserResult;
+import com.example.starter_project_2025.system.user.dto.CreateUserRequest;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
+import com.example.starter_project_2025.system.user.service.UserBulkService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserBulkServiceTests {
+
+	@Autowired
+	private UserBulkService userBulkService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@BeforeEach
+	void authenticate() {
+		TestAuthentication.authenticate("USER_CREATE");
+	}
+
+	@AfterEach
+	void clearAuthentication() {
+		TestAuthentication.clear();
+	}
+
+	@Test
+	void reportsOneResultPerRow() {
+		UUID roleId = roleRepository.findAll().stream().map(Role::getId).findFirst().orElseThrow();
+		List<CreateUserRequest> rows = List.of(
+				row("bulk.one@example.com", roleId),
+				row("not-an-email", roleId),
+				row("admin@example.com", roleId),
+				row("bulk.two@example.com", UUID.randomUUID()),
+				row("bulk.one@example.com", roleId),
+				row("bulk.three@example.com", roleId));
+
+		BulkCreateUsersResponse response = userBulkService.createUsers(rows);
+
+		assertEquals(List.of(BulkUserResult.Status.CREATED, BulkUserResult.Status.INVALID,
+						BulkUserResult.Status.DUPLICATE, BulkUserResult.Status.ROLE_NOT_FOUND,
+						BulkUserResult.Status.DUPLICATE, BulkUserResult.Status.CREATED),
+				response.getResults().stream().map(BulkUserResult::getStatus).toList());
+		assertEquals(2, response.getCreated());
+		assertEquals(4, response.getFailed());
+		assertTrue(userRepository.existsByEmail("bulk.three@example.com"));
+	}
+
+	private static CreateUserRequest row(String email, UUID roleId) {
+		CreateUserRequest request = new CreateUserRequest();
+		request.setEmail(email);
+		request.setPassword("password123");
+		request.setFirstName("Bulk");
+		request.setLastName("User");
+		request.setRoleId(roleId);
+		return request;
+	}
+
+}
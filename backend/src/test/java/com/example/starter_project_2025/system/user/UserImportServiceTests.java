@@ -0,0 +1,136 @@
+package com.example.starter_project_2025.system.user;
+
+import com.example.starter_project_2025.exception.ResourceNotFoundException;
+import com.example.starter_project_2025.support.TestAuthentication;
+import com.example.starter_project_2025.system.auth.entity.Role;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.example.starter_project_2025.system.user.dto.BulkUserResult;
+import com.example.starter_project_2025.system.user.dto.UserImportJobDTO;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
+import com.example.starter_project_2025.system.user.service.UserImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+		"users.import.split-bytes=1",
+		"users.import.parse-threads=3",
+		"users.import.chunk-size=2"
+})
+class UserImportServiceTests {
+
+	@Autowired
+	private UserImportService userImportService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@BeforeEach
+	void authenticate() {
+		TestAuthentication.authenticate("USER_CREATE");
+	}
+
+	@AfterEach
+	void clearAuthentication() {
+		TestAuthentication.clear();
+	}
+
+	@Test
+	void importCreatesValidRowsAndReportsRejectedRows() throws InterruptedException {
+		String csv = "Email,Password,First Name,Last Name,Role\n"
+				+ "basic.one@example.com,password123,Basic,One,student\n"
+				+ "not-an-email,password123,Bad,Email,STUDENT\n"
+				+ "basic.two@example.com,password123,Basic,Two,STUDENT\n"
+				+ "basic.three@example.com,password123,No,Role,NOPE\n"
+				+ "basic.one@example.com,password123,Same,Email,STUDENT\n";
+
+		UserImportJobDTO job = awaitFinished(userImportService.startImport(new MockMultipartFile("file", "users.csv",
+				"text/csv", csv.getBytes(StandardCharsets.UTF_8))));
+
+		assertEquals(UserImportJobDTO.Status.COMPLETED, job.getStatus());
+		assertEquals(5, job.getRowsProcessed());
+		assertEquals(2, job.getCreated());
+		assertEquals(List.of(2L, 4L, 5L), job.getRejectedRows().stream().map(BulkUserResult::getRow).toList());
+		assertEquals(List.of(BulkUserResult.Status.INVALID, BulkUserResult.Status.ROLE_NOT_FOUND,
+						BulkUserResult.Status.DUPLICATE),
+				job.getRejectedRows().stream().map(BulkUserResult::getStatus).toList());
+		assertTrue(userRepository.existsByEmail("basic.one@example.com"));
+		assertTrue(userRepository.existsByEmail("basic.two@example.com"));
+		assertFalse(userRepository.existsByEmail("basic.three@example.com"));
+	}
+
+	@Test
+	void parallelImportReportsRowsInFileOrder() throws InterruptedException {
+		String csv = "Role,Email,Password,First Name,Last Name\r\n"
+				+ "student,import.one@example.com,password123,\"Multi\r\nLine\",One\r\n"
+				+ "STUDENT,not-an-email,password123,Bad,Email\r\n"
+				+ "\r\n"
+				+ "NOPE,import.two@example.com,password123,No,Role\r\n"
+				+ "STUDENT,import.one@example.com,password123,Same,Email\r\n"
+				+ "STUDENT,admin@example.com,password123,Taken,Email\r\n"
+				+ "STUDENT,import.two@example.com,password123,\"Two, Again\",Two\r\n";
+
+		UserImportJobDTO job = awaitFinished(userImportService.startImport(new MockMultipartFile("file", "users.csv",
+				"text/csv", csv.getBytes(StandardCharsets.UTF_8))));
+
+		assertEquals(UserImportJobDTO.Status.COMPLETED, job.getStatus());
+		assertEquals(6, job.getRowsProcessed());
+		assertEquals(2, job.getCreated());
+		assertEquals(List.of(2L, 3L, 4L, 5L), job.getRejectedRows().stream().map(BulkUserResult::getRow).toList());
+		assertEquals(List.of(BulkUserResult.Status.INVALID, BulkUserResult.Status.ROLE_NOT_FOUND,
+						BulkUserResult.Status.DUPLICATE, BulkUserResult.Status.DUPLICATE),
+				job.getRejectedRows().stream().map(BulkUserResult::getStatus).toList());
+		assertEquals("Multi\r\nLine", userRepository.findByEmail("import.one@example.com").orElseThrow().getFirstName());
+		assertTrue(userRepository.existsByEmail("import.two@example.com"));
+	}
+
+	@Test
+	void caseInsensitiveRoleMatchMustBeUnambiguous() throws InterruptedException {
+		List<Role> roles = roleRepository.saveAll(List.of(role("Auditor"), role("AUDITOR")));
+		try {
+			String csv = "Email,Password,First Name,Last Name,Role\n"
+					+ "not-an-email,password123,Exact,Match,Auditor\n"
+					+ "case.one@example.com,password123,Ambiguous,Match,auditor\n";
+
+			UserImportJobDTO job = awaitFinished(userImportService.startImport(new MockMultipartFile("file",
+					"users.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8))));
+
+			assertEquals(UserImportJobDTO.Status.COMPLETED, job.getStatus());
+			assertEquals(List.of(BulkUserResult.Status.INVALID, BulkUserResult.Status.ROLE_NOT_FOUND),
+					job.getRejectedRows().stream().map(BulkUserResult::getStatus).toList());
+		} finally {
+			roleRepository.deleteAll(roles);
+		}
+	}
+
+	@Test
+	void unknownJobIsNotFound() {
+		assertThrows(ResourceNotFoundException.class, () -> userImportService.getJob(UUID.randomUUID()));
+	}
+
+	private static Role role(String name) {
+		Role role = new Role();
+		role.setName(name);
+		return role;
+	}
+
+	private UserImportJobDTO awaitFinished(UserImportJobDTO job) throws InterruptedException {
+		for (int i = 0; i < 200 && job.getFinishedAt() == null; i++) {
+			Thread.sleep(50);
+			job = userImportService.getJob(job.getId());
+		}
+		return job;
+	}
+}
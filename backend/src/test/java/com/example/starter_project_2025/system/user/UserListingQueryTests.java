@@ -0,0 +1,85 @@
+package com.example.starter_project_2025.system.user;
+
+import com.example.starter_project_2025.system.auth.entity.Role;
+import com.example.starter_project_2025.system.auth.repository.RoleRepository;
+import com.example.starter_project_2025.system.user.dto.UserDTO;
+import com.example.starter_project_2025.system.user.entity.User;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class UserListingQueryTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seedUsers() {
+		List<Role> roles = roleRepository.findAll();
+		for (int i = 0; i < 30; i++) {
+			User user = new User();
+			user.setEmail("listing" + i + "@example.com");
+			user.setPasswordHash("{noop}x");
+			user.setFirstName("First" + i);
+			user.setLastName("Last" + i);
+			user.setRole(roles.get(i % roles.size()));
+			user.setIsActive(true);
+			userRepository.save(user);
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void pageWithTotalsUsesOneSelectAndOneCount() {
+		Page<UserDTO> page = userRepository.findAllDTO(PageRequest.of(0, 20, Sort.by("lastName")));
+
+		assertEquals(20, page.getNumberOfElements());
+		assertTrue(page.getContent().stream().allMatch(dto -> dto.getRoleName() != null));
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void sliceAndLookupUseASingleStatement() {
+		Slice<UserDTO> slice = userRepository.findSliceDTO(PageRequest.of(1, 20, Sort.by("createdAt")));
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		UserDTO user = userRepository.findDTOById(slice.getContent().get(0).getId()).orElseThrow();
+		assertNotNull(user.getRoleId());
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+}
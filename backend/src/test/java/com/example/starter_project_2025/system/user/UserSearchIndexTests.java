@@ -0,0 +1,30 @@
+package com.example.starter_project_2025.system.user;
+
+import com.example.starter_project_2025.system.user.entity.User;
+import com.example.starter_project_2025.system.user.repository.UserRepository;
+import com.example.starter_project_2025.system.user.service.UserSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserSearchIndexTests {
+
+	@Autowired
+	private UserSearchIndex userSearchIndex;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void rebuildStreamsEveryUser() {
+		User admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+
+		userSearchIndex.rebuild();
+
+		assertEquals(userRepository.count(), userSearchIndex.size());
+		assertTrue(userSearchIndex.search("admin@example", 0, 10).keys().contains(admin.getId()));
+	}
+}
@@ -0,0 +1,21 @@
+package com.example.starter_project_2025.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+	@Test
+	void neverMissesInsertedKeysAndStaysNearTargetRate() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		IntStream.range(0, 10_000).forEach(i -> filter.put("jti-" + i));
+
+		assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("jti-" + i)));
+		long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("other-" + i)).count();
+		assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+		assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+	}
+}
@@ -0,0 +1,119 @@
+package com.example.starter_project_2025.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTests {
+
+	@Test
+	void parsesQuotedFieldsAcrossLineBreaks() throws IOException {
+		List<List<String>> records = read("\uFEFFname,note\r\n"
+				+ "\"Smith, Jane\",\"line one\r\nline \"\"two\"\"\"\r\n"
+				+ "\r\n"
+				+ "bob,\n"
+				+ "carol,ok\rdave,\"\"");
+
+		assertEquals(List.of(
+				List.of("name", "note"),
+				List.of("Smith, Jane", "line one\r\nline \"two\""),
+				List.of("bob", ""),
+				List.of("carol", "ok"),
+				List.of("dave", "")), records);
+	}
+
+	@Test
+	void readsFieldsLongerThanTheBuffer() throws IOException {
+		String value = "x".repeat(1_000);
+		try (CsvReader reader = new CsvReader(new StringReader(value + ",\"" + value + "\"\n"), ',', 16)) {
+			assertTrue(reader.next());
+			assertEquals(value, reader.get(0));
+			assertEquals(value, reader.get(1));
+			assertEquals("", reader.get(2));
+			assertFalse(reader.next());
+		}
+	}
+
+	@Test
+	void splitsFilesOnlyBetweenRecords() throws IOException {
+		String csv = "\uFEFF\r\nname,note\r\n"
+				+ "a,\"x\r\ny\"\r\n"
+				+ "b,\"\"\"q\"\"\n\"\r"
+				+ "c,d\"e\n"
+				+ "\n"
+				+ "\"f\",g";
+		Path file = Files.createTempFile("csv-split-", ".csv");
+		try {
+			Files.writeString(file, csv);
+			long[] bounds = CsvReader.splitRecords(file, 1);
+			byte[] bytes = Files.readAllBytes(file);
+
+			assertEquals(0, bounds[0]);
+			assertEquals(bytes.length, bounds[bounds.length - 1]);
+			assertEquals(List.of(List.of("name", "note")), read(slice(bytes, bounds[0], bounds[1])));
+			List<List<String>> pieces = new ArrayList<>();
+			for (int i = 1; i < bounds.length - 1; i++) {
+				pieces.addAll(read(slice(bytes, bounds[i], bounds[i + 1])));
+			}
+			assertEquals(read(csv).subList(1, 5), pieces);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void splitsOnTheReadersSeparator() throws IOException {
+		String csv = "name;note\n"
+				+ "a;\"x\ny\"\n"
+				+ "b;\"1,2\"\n";
+		Path file = Files.createTempFile("csv-split-", ".csv");
+		try {
+			Files.writeString(file, csv);
+			long[] bounds = CsvReader.splitRecords(file, ';', 1);
+			byte[] bytes = Files.readAllBytes(file);
+
+			List<List<String>> pieces = new ArrayList<>();
+			for (int i = 1; i < bounds.length - 1; i++) {
+				pieces.addAll(read(slice(bytes, bounds[i], bounds[i + 1]), ';'));
+			}
+			assertEquals(List.of(List.of("a", "x\ny"), List.of("b", "1,2")), pieces);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void rejectsUnterminatedQuote() {
+		assertThrows(IOException.class, () -> read("a,\"b\nc"));
+	}
+
+	private static String slice(byte[] bytes, long from, long to) {
+		return new String(bytes, (int) from, (int) (to - from), StandardCharsets.UTF_8);
+	}
+
+	private static List<List<String>> read(String csv) throws IOException {
+		return read(csv, ',');
+	}
+
+	private static List<List<String>> read(String csv, char separator) throws IOException {
+		List<List<String>> records = new ArrayList<>();
+		try (CsvReader reader = new CsvReader(new StringReader(csv), separator, 64 * 1024)) {
+			while (reader.next()) {
+				List<String> record = new ArrayList<>();
+				for (int i = 0; i < reader.size(); i++) {
+					record.add(reader.get(i));
+				}
+				records.add(record);
+			}
+		}
+		return records;
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.starter_project_2025.util;
+
+import com.example.starter_project_2025.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTests {
+
+	private static final Map<String, Class<?>> KEYS = Map.of(
+			"createdAt", LocalDateTime.class,
+			"email", String.class);
+
+	@Test
+	void roundTripsKeysOfTheSort() {
+		Sort sort = KeysetCursor.sort(new String[]{"createdAt", "desc"}, KEYS);
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("createdAt", LocalDateTime.of(2025, 3, 1, 12, 30, 15));
+		keys.put("id", UUID.randomUUID());
+
+		String cursor = KeysetCursor.encode(ScrollPosition.forward(keys));
+		KeysetScrollPosition decoded = (KeysetScrollPosition) KeysetCursor.decode(cursor, sort, KEYS);
+
+		assertEquals(keys, decoded.getKeys());
+		assertEquals(Sort.Direction.DESC, sort.getOrderFor("createdAt").getDirection());
+		assertEquals(Sort.Direction.DESC, sort.getOrderFor("id").getDirection());
+	}
+
+	@Test
+	void roundTripsValuesContainingTheDelimiters() {
+		Sort sort = KeysetCursor.sort(new String[]{"email"}, KEYS);
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("email", "line one\nkey=value\n=");
+		keys.put("id", UUID.randomUUID());
+
+		String cursor = KeysetCursor.encode(ScrollPosition.forward(keys));
+		KeysetScrollPosition decoded = (KeysetScrollPosition) KeysetCursor.decode(cursor, sort, KEYS);
+
+		assertEquals(keys, decoded.getKeys());
+	}
+
+	@Test
+	void rejectsTamperedCursors() {
+		Sort sort = KeysetCursor.sort(new String[]{"email"}, KEYS);
+
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not base64!", sort, KEYS));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode(encoded("garbage"), sort, KEYS));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode(encoded("email=a@b.c"), sort, KEYS));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode(cursor("email", "a@b.c", "id", "not-a-uuid"), sort, KEYS));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode(cursor("email", "a@b.c"), sort, KEYS));
+		assertThrows(BadRequestException.class,
+				() -> KeysetCursor.decode(cursor("email", "a@b.c", "id", UUID.randomUUID().toString(), "password", "x"), sort, KEYS));
+		assertThrows(BadRequestException.class,
+				() -> KeysetCursor.decode(cursor("createdAt", "2025-03-01T12:30", "id", UUID.randomUUID().toString()), sort, KEYS));
+	}
+
+	@Test
+	void rejectsInvalidSortInput() {
+		assertThrows(BadRequestException.class, () -> KeysetCursor.sort(new String[]{"password"}, KEYS));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.sort(new String[]{"id", "asc"}, KEYS));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.sort(new String[]{"email", "foo"}, KEYS));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.direction(new String[]{"name", "foo"}));
+		assertEquals(Sort.Direction.ASC, KeysetCursor.direction(new String[]{"name"}));
+	}
+
+	private static String cursor(String... keysAndValues) {
+		StringBuilder raw = new StringBuilder();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			if (!raw.isEmpty()) {
+				raw.append('\n');
+			}
+			raw.append(keysAndValues[i]).append('=').append(encoded(keysAndValues[i + 1]));
+		}
+		return encoded(raw.toString());
+	}
+
+	private static String encoded(String raw) {
+		return Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,55 @@
+package com.example.starter_project_2025.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramIndexTests {
+
+	@Test
+	void ranksExactAndPrefixMatchesAboveSubstrings() {
+		NgramIndex<Integer> index = new NgramIndex<>();
+		index.put(1, "jane.smith@example.com", "Jane", "Smith");
+		index.put(2, "john.doe@example.com", "John", "Doe");
+		index.put(3, "blacksmith@example.com", "Al", "Blacksmith");
+
+		assertEquals(List.of(1, 3), index.search("smith", 0, 10).keys());
+		assertEquals(List.of(2), index.search("jo do", 0, 10).keys());
+		assertEquals(List.of(2, 1), index.search("j", 0, 10).keys());
+		assertEquals(3, index.search("example", 0, 2).total());
+		assertTrue(index.search("xyz", 0, 10).keys().isEmpty());
+	}
+
+	@Test
+	void updatesAndRemovalsAreVisibleAcrossCompaction() {
+		NgramIndex<Integer> index = new NgramIndex<>();
+		for (int i = 0; i < 3_000; i++) {
+			index.put(i, "user" + i + "@example.com", "First", "Last");
+		}
+		index.put(7, "renamed@example.com", "First", "Last");
+		for (int i = 100; i < 3_000; i++) {
+			index.remove(i);
+		}
+
+		assertEquals(100, index.size());
+		assertEquals(List.of(7), index.search("renamed", 0, 10).keys());
+		assertTrue(index.search("user7@", 0, 10).keys().isEmpty());
+		assertEquals(100, index.search("first last", 0, 10).total());
+	}
+
+	@Test
+	void repeatedUpdatesCompact() {
+		NgramIndex<Integer> index = new NgramIndex<>();
+		for (int i = 0; i < 5_000; i++) {
+			char first = (char) ('\u4e00' + 3 * i);
+			index.put(1, new String(new char[]{first, (char) (first + 1), (char) (first + 2)}));
+		}
+
+		assertEquals(1, index.size());
+		// Every text has its own grams, which stay behind unless tombstones are compacted
+		assertTrue(index.postingLists() < 5_000, "posting lists: " + index.postingLists());
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.example.starter_project_2025.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageResponseTests {
+
+	private static final List<Integer> ROWS = IntStream.range(0, 10).boxed().toList();
+
+	// Stale on purpose: lower than the real total of 10
+	private final ApproximateCount approximateCount = new ApproximateCount(() -> 7, Long.MAX_VALUE);
+
+	@Test
+	void exactCountsEveryPage() {
+		assertTotal(CountMode.EXACT, 0, 10L, true);
+		assertTotal(CountMode.EXACT, 1, 10L, true);
+		assertTotal(CountMode.EXACT, 2, 10L, true);
+		assertTotal(CountMode.EXACT, 100, 10L, true);
+	}
+
+	@Test
+	void approximateIsExactOnlyOnTheLastPage() {
+		assertTotal(CountMode.APPROXIMATE, 0, 7L, false);
+		assertTotal(CountMode.APPROXIMATE, 1, 9L, false);
+		assertTotal(CountMode.APPROXIMATE, 2, 10L, true);
+		assertTotal(CountMode.APPROXIMATE, 100, 7L, false);
+	}
+
+	@Test
+	void noneIsExactOnlyOnTheLastPage() {
+		assertTotal(CountMode.NONE, 0, null, false);
+		assertTotal(CountMode.NONE, 1, null, false);
+		assertTotal(CountMode.NONE, 2, 10L, true);
+		assertTotal(CountMode.NONE, 100, null, false);
+	}
+
+	@Test
+	void emptyFirstPageIsExactlyEmpty() {
+		PageResponse<Integer> response = PageResponse.query(CountMode.NONE, PageRequest.of(0, 4),
+				p -> new PageImpl<>(List.of(), p, 0), p -> new SliceImpl<>(List.of(), p, false), approximateCount);
+
+		assertEquals(0L, response.totalElements());
+		assertTrue(response.totalExact());
+	}
+
+	private void assertTotal(CountMode mode, int page, Long total, boolean exact) {
+		PageResponse<Integer> response = PageResponse.query(mode, PageRequest.of(page, 4),
+				PageResponseTests::page, PageResponseTests::slice, approximateCount);
+
+		assertEquals(total, response.totalElements(), mode + " page " + page);
+		assertEquals(exact, response.totalExact(), mode + " page " + page);
+		assertEquals(Math.max(0, Math.min(4, ROWS.size() - page * 4)), response.numberOfElements());
+	}
+
+	private static Page<Integer> page(Pageable pageable) {
+		return new PageImpl<>(rows(pageable), pageable, ROWS.size());
+	}
+
+	private static Slice<Integer> slice(Pageable pageable) {
+		return new SliceImpl<>(rows(pageable), pageable, pageable.getOffset() + pageable.getPageSize() < ROWS.size());
+	}
+
+	private static List<Integer> rows(Pageable pageable) {
+		int from = (int) Math.min(pageable.getOffset(), ROWS.size());
+		return ROWS.subList(from, Math.min(from + pageable.getPageSize(), ROWS.size()));
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.starter_project_2025.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTests {
+
+	@Test
+	void grantsBurstThenRejectsWithWaitTime() {
+		RateLimiter limiter = new RateLimiter(3, 60, 100);
+
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a") > 0);
+		assertEquals(0, limiter.tryAcquire("b"));
+		assertEquals(1, limiter.rejected());
+	}
+
+	@Test
+	void staysWithinKeyBound() {
+		RateLimiter limiter = new RateLimiter(1, 1, 1_000);
+		IntStream.range(0, 10_000).forEach(i -> limiter.tryAcquire("key-" + i));
+
+		assertTrue(limiter.size() <= 1_000);
+		assertTrue(limiter.overflowed() > 0);
+	}
+
+	@Test
+	void evictsOnlyFullBuckets() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(1, 600, 10);
+		IntStream.range(0, 9).forEach(i -> limiter.tryAcquire("idle-" + i));
+		Thread.sleep(150);
+
+		assertEquals(0, limiter.tryAcquire("victim"));
+		assertTrue(limiter.tryAcquire("victim") > 0);
+		IntStream.range(0, 1_000).forEach(i -> limiter.tryAcquire("flood-" + i));
+
+		assertEquals(9, limiter.evictions());
+		assertTrue(limiter.overflowed() > 0);
+		assertTrue(limiter.tryAcquire("victim") > 0);
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.starter_project_2025.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UniqueKeyFilterTests {
+
+	@Test
+	void onlyPossibleHitsReachTheLookup() {
+		UniqueKeyFilter filter = new UniqueKeyFilter(1_000, 0.001);
+		filter.rebuild(2, sink -> List.of("admin@example.com", "jane@example.com").forEach(sink));
+
+		List<String> looked = new ArrayList<>();
+		assertFalse(filter.exists("new@example.com", key -> looked.add(key) && false));
+		assertTrue(filter.exists("admin@example.com", key -> looked.add(key)));
+		assertEquals(List.of("admin@example.com"), looked);
+
+		List<String> queried = new ArrayList<>();
+		Set<String> existing = filter.existing(List.of("a@example.com", "jane@example.com", "b@example.com"), keys -> {
+			queried.addAll(keys);
+			return List.of("jane@example.com");
+		});
+		assertEquals(Set.of("jane@example.com"), existing);
+		assertEquals(List.of("jane@example.com"), queried);
+		assertTrue(filter.existing(List.of("c@example.com"), keys -> fail("no lookup expected")).isEmpty());
+	}
+
+	@Test
+	void keepsKeysAddedDuringRebuildAndTracksStaleKeys() {
+		UniqueKeyFilter filter = new UniqueKeyFilter(100, 0.001);
+		assertTrue(filter.exists("before@example.com", key -> true));
+
+		filter.rebuild(1, sink -> {
+			sink.accept("old@example.com");
+			filter.add("during@example.com");
+		});
+		assertTrue(filter.exists("during@example.com", key -> true));
+		assertFalse(filter.needsRebuild());
+
+		filter.removed();
+		assertTrue(filter.needsRebuild());
+		filter.rebuild(1, sink -> sink.accept("during@example.com"));
+		assertFalse(filter.needsRebuild());
+	}
+
+	@Test
+	void keepsRemovalsRecordedDuringRebuild() {
+		UniqueKeyFilter filter = new UniqueKeyFilter(100, 0.001);
+		filter.rebuild(1, sink -> sink.accept("a@example.com"));
+		filter.removed();
+
+		filter.rebuild(1, sink -> {
+			sink.accept("a@example.com");
+			filter.removed();
+		});
+
+		assertEquals(1L, filter.getStats().get("staleKeys"));
+		assertTrue(filter.needsRebuild());
+	}
+}
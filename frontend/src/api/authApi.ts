@@ -8,7 +8,13 @@ export const authApi = {
   },
 
   logout: () => {
+    const token = localStorage.getItem('token');
+    const refreshToken = localStorage.getItem('refreshToken');
+    axiosInstance
+      .post('/auth/logout', { refreshToken }, { headers: { Authorization: `Bearer ${token}` } })
+      .catch(() => undefined);
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
   },
 };
@@ -1,5 +1,5 @@
 import axiosInstance from './axiosInstance';
-import { Role, CreateRoleRequest, UpdateRoleRequest } from '../types/role';
+import { Role, RoleHierarchy, CreateRoleRequest, UpdateRoleRequest } from '../types/role';
 
 export const roleApi = {
   getAllRoles: async (page = 0, size = 20, sort = 'name,asc') => {
@@ -42,4 +42,19 @@ export const roleApi = {
     const response = await axiosInstance.post<Role>(`/roles/${roleId}/permissions/remove`, { permissionIds });
     return response.data;
   },
+
+  getHierarchy: async (roleId: string): Promise<RoleHierarchy> => {
+    const response = await axiosInstance.get<RoleHierarchy>(`/roles/${roleId}/hierarchy`);
+    return response.data;
+  },
+
+  addParent: async (roleId: string, parentId: string): Promise<RoleHierarchy> => {
+    const response = await axiosInstance.post<RoleHierarchy>(`/roles/${roleId}/parents/${parentId}`);
+    return response.data;
+  },
+
+  removeParent: async (roleId: string, parentId: string): Promise<RoleHierarchy> => {
+    const response = await axiosInstance.delete<RoleHierarchy>(`/roles/${roleId}/parents/${parentId}`);
+    return response.data;
+  },
 };
@@ -1,10 +1,11 @@
 import axiosInstance from './axiosInstance';
-import { User, CreateUserRequest } from '../types/auth';
+import { User, CreateUserRequest, BulkCreateUsersResponse, UserImportJob } from '../types/auth';
 
 export const userApi = {
-  getAllUsers: async (page = 0, size = 20, sort = 'createdAt,desc') => {
+  getAllUsers: async (page = 0, size = 20, sort = 'createdAt,desc', q?: string) => {
+    const search = q ? `&q=${encodeURIComponent(q)}` : '';
     const response = await axiosInstance.get<{content: User[], totalElements: number, totalPages: number}>(
-      `/users?page=${page}&size=${size}&sort=${sort}`
+      `/users?page=${page}&size=${size}&sort=${sort}${search}`
     );
     return response.data;
   },
@@ -19,6 +20,25 @@ export const userApi = {
     return response.data;
   },
 
+  bulkCreateUsers: async (users: CreateUserRequest[]): Promise<BulkCreateUsersResponse> => {
+    const response = await axiosInstance.post<BulkCreateUsersResponse>('/users/bulk', { users });
+    return response.data;
+  },
+
+  importUsers: async (file: File): Promise<UserImportJob> => {
+    const formData = new FormData();
+    formData.append('file', file);
+    const response = await axiosInstance.post<UserImportJob>('/users/import', formData, {
+      headers: { 'Content-Type': 'multipart/form-data' },
+    });
+    return response.data;
+  },
+
+  getImportJob: async (jobId: string): Promise<UserImportJob> => {
+    const response = await axiosInstance.get<UserImportJob>(`/users/import/${jobId}`);
+    return response.data;
+  },
+
   updateUser: async (id: string, user: Partial<User>): Promise<User> => {
     const response = await axiosInstance.put<User>(`/users/${id}`, user);
     return response.data;
@@ -33,6 +33,7 @@ export const AuthProvider: React.FC<{ children: ReactNode }> = ({ children }) =>
       console.log('Permissions:', response.permissions);
       console.log('Permissions count:', response.permissions?.length || 0);
       localStorage.setItem('token', response.token);
+      localStorage.setItem('refreshToken', response.refreshToken);
       localStorage.setItem('user', JSON.stringify(response));
       setUser(response);
       console.log('User stored in state:', response);
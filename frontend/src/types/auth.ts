@@ -17,6 +17,7 @@ export interface LoginRequest {
 
 export interface LoginResponse {
   token: string;
+  refreshToken: string;
   type: string;
   email: string;
   firstName: string;
@@ -33,6 +34,37 @@ export interface CreateUserRequest {
   roleId: string;
 }
 
+export interface BulkUserResult {
+  row: number;
+  email: string;
+  status: 'CREATED' | 'INVALID' | 'DUPLICATE' | 'ROLE_NOT_FOUND' | 'FAILED';
+  id?: string;
+  error?: string;
+}
+
+export interface BulkCreateUsersResponse {
+  created: number;
+  failed: number;
+  results: BulkUserResult[];
+}
+
+export interface UserImportJob {
+  id: string;
+  fileName: string;
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+  totalBytes: number;
+  bytesRead: number;
+  progress: number;
+  rowsProcessed: number;
+  created: number;
+  rejected: number;
+  rowsPerSecond: number;
+  startedAt?: string;
+  finishedAt?: string;
+  error?: string;
+  rejectedRows: BulkUserResult[];
+}
+
 export interface AuthContextType {
   user: LoginResponse | null;
   login: (credentials: LoginRequest) => Promise<void>;
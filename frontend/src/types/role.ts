@@ -10,6 +10,17 @@ export interface Role {
   updatedAt: string;
 }
 
+export interface RoleHierarchy {
+  id: string;
+  name: string;
+  parentRoles: string[];
+  childRoles: string[];
+  ancestorRoles: string[];
+  permissionNames: string[];
+  inheritedPermissionNames: string[];
+  effectivePermissionNames: string[];
+}
+
 export interface CreateRoleRequest {
   name: string;
   description: string;